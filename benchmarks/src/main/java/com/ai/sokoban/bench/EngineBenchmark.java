@@ -0,0 +1,74 @@
+package com.ai.sokoban.bench;
+
+import com.ai.sokoban.Direction;
+import com.ai.sokoban.LevelData;
+import com.ai.sokoban.SokobanEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 引擎热点路径基准：移动+撤销的吞吐量，以及查找玩家、过关判断的扫描开销。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"0", "5", "8", "20"})
+    public int levelIndex;
+
+    private SokobanEngine engine;
+    private Direction[] walkable;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new SokobanEngine();
+        engine.load(LevelData.getLevels().get(levelIndex));
+        // 找出初始位置上能成功移动的方向，基准中反复"移动一步再撤销"
+        int count = 0;
+        Direction[] found = new Direction[4];
+        for (Direction direction : Direction.values()) {
+            if (engine.move(direction) != SokobanEngine.MoveResult.BLOCKED) {
+                found[count++] = direction;
+                engine.undo();
+            }
+        }
+        walkable = Arrays.copyOf(found, count);
+    }
+
+    @Benchmark
+    public SokobanEngine.MoveResult moveAndUndo() {
+        Direction direction = walkable[cursor];
+        cursor = (cursor + 1) % walkable.length;
+        SokobanEngine.MoveResult result = engine.move(direction);
+        engine.undo();
+        return result;
+    }
+
+    @Benchmark
+    public int[] findPlayer() {
+        return engine.findPlayer();
+    }
+
+    @Benchmark
+    public boolean checkWinCondition() {
+        return engine.isSolved();
+    }
+}
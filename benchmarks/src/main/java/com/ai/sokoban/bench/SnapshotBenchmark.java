@@ -0,0 +1,62 @@
+package com.ai.sokoban.bench;
+
+import com.ai.sokoban.GameState;
+import com.ai.sokoban.LevelData;
+import com.ai.sokoban.MoveJournal;
+import com.ai.sokoban.SokobanEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每步历史记录的开销对比：旧的int[][]整图深拷贝、紧凑GameState快照、增量日志。
+ * 配合 -prof gc 运行可以看到每种方式的分配速率。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    private int[][] map;
+    private MoveJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SokobanEngine engine = new SokobanEngine();
+        engine.load(LevelData.getLevels().get(0));
+        map = engine.getMap();
+        journal = new MoveJournal();
+    }
+
+    /** 优化前GameLogic.deepCopy的做法。 */
+    @Benchmark
+    public int[][] deepCopy() {
+        return Arrays.stream(map).map(int[]::clone).toArray(int[][]::new);
+    }
+
+    @Benchmark
+    public GameState captureGameState() {
+        return GameState.capture(map);
+    }
+
+    @Benchmark
+    public int recordJournalEntry() {
+        if (journal.size() > 1 << 16) journal.clear();
+        journal.record(7, 7, 1, false);
+        return journal.size();
+    }
+}
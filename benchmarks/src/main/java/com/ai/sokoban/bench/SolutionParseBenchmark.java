@@ -0,0 +1,46 @@
+package com.ai.sokoban.bench;
+
+import com.ai.sokoban.SolutionData;
+import javafx.scene.input.KeyCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SolutionData答案字符串的解析开销。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolutionParseBenchmark {
+
+    @Param({"0", "8", "15"})
+    public int levelIndex;
+
+    private String solutionString;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        solutionString = SolutionData.toSolutionString(SolutionData.getSolution(levelIndex));
+    }
+
+    @Benchmark
+    public List<KeyCode> parseSolution() {
+        return SolutionData.parseSolution(solutionString);
+    }
+}
@@ -0,0 +1,155 @@
+package com.ai.sokoban;
+
+import java.util.Arrays;
+
+/**
+ * 箱子与目标点之间的最小代价匹配下界。
+ * 【职责】: 以每个格子到每个目标点的推动距离为代价，用匈牙利算法求箱子与目标点的最小权完美匹配，
+ * 其总代价是剩余推动次数的可采纳下界。
+ * 搜索中每次只有一个箱子移动：afterMove只替换该箱子所在的一行，
+ * 在保留其余行的匹配与对偶变量的前提下做一次增广，代价为O(n^2)而不是重新计算的O(n^3)。
+ * SokobanSolver把子节点的匹配保存在搜索节点上，扩展该节点时直接复用，只有起始局面需要调用solve。
+ * 本类不保存可变状态，可被多个搜索线程共享。
+ */
+public final class AssignmentHeuristic {
+
+    /** 无法完成匹配时返回的代价。 */
+    public static final int INFEASIBLE = Integer.MAX_VALUE / 4;
+
+    // 箱子无法推到某个目标点时在代价矩阵中使用的大数，足够大又不会让对偶变量溢出
+    private static final int BLOCKED = 1 << 20;
+
+    private final int[][] goalDistances;
+
+    /**
+     * @param goalDistances goalDistances[g][cell] 为cell上的箱子推到第g个目标点的推动距离，无法到达时不小于INFEASIBLE。
+     */
+    public AssignmentHeuristic(int[][] goalDistances) {
+        this.goalDistances = goalDistances;
+    }
+
+    /**
+     * 一次匹配的结果，连同对偶变量一起保存，供单个箱子移动后的增量更新使用。
+     * 行(箱子)与列(目标点)均从1开始编号，0号为算法使用的虚拟节点。
+     */
+    public static final class Matching {
+        final int[] boxCells;  // 第i行对应的箱子格子
+        final int[] rowPotential;
+        final int[] columnPotential;
+        final int[] rowOfColumn; // 第j个目标点匹配到的行
+        final int cost;
+
+        Matching(int[] boxCells, int[] rowPotential, int[] columnPotential, int[] rowOfColumn, int cost) {
+            this.boxCells = boxCells;
+            this.rowPotential = rowPotential;
+            this.columnPotential = columnPotential;
+            this.rowOfColumn = rowOfColumn;
+            this.cost = cost;
+        }
+
+        /** @return 匹配的总推动距离；无法完成时为INFEASIBLE。 */
+        public int getCost() {
+            return cost;
+        }
+    }
+
+    /**
+     * 从头计算箱子与目标点的最小代价匹配。箱子数必须等于目标点数。
+     * @param boxes 箱子所在格子。
+     */
+    public Matching solve(int[] boxes) {
+        int n = boxes.length;
+        int[] boxCells = new int[n + 1];
+        System.arraycopy(boxes, 0, boxCells, 1, n);
+        int[] u = new int[n + 1];
+        int[] v = new int[n + 1];
+        int[] p = new int[n + 1];
+        for (int row = 1; row <= n; row++) {
+            augment(row, boxCells, u, v, p);
+        }
+        return new Matching(boxCells, u, v, p, totalCost(boxCells, p));
+    }
+
+    /**
+     * 位于fromCell的箱子移动到toCell之后的匹配，不修改传入的matching。
+     */
+    public Matching afterMove(Matching matching, int fromCell, int toCell) {
+        int n = matching.boxCells.length - 1;
+        int[] boxCells = matching.boxCells.clone();
+        int row = 1;
+        while (boxCells[row] != fromCell) row++;
+        boxCells[row] = toCell;
+
+        int[] u = matching.rowPotential.clone();
+        int[] v = matching.columnPotential.clone();
+        int[] p = matching.rowOfColumn.clone();
+        for (int j = 1; j <= n; j++) {
+            if (p[j] == row) p[j] = 0;
+        }
+        // 重新设定这一行的对偶变量，使所有约束 u[row] + v[j] <= cost 仍然成立，再从该行做一次增广
+        int minReduced = Integer.MAX_VALUE;
+        for (int j = 1; j <= n; j++) {
+            minReduced = Math.min(minReduced, cost(toCell, j) - v[j]);
+        }
+        u[row] = minReduced;
+        augment(row, boxCells, u, v, p);
+        return new Matching(boxCells, u, v, p, totalCost(boxCells, p));
+    }
+
+    /**
+     * 匈牙利算法的一个阶段：在已有的对偶可行解上，为第row行寻找最短增广路并沿路翻转匹配。
+     */
+    private void augment(int row, int[] boxCells, int[] u, int[] v, int[] p) {
+        int n = boxCells.length - 1;
+        int[] minv = new int[n + 1];
+        int[] way = new int[n + 1];
+        boolean[] used = new boolean[n + 1];
+        Arrays.fill(minv, Integer.MAX_VALUE);
+        p[0] = row;
+        int j0 = 0;
+        do {
+            used[j0] = true;
+            int i0 = p[j0], delta = Integer.MAX_VALUE, j1 = 0;
+            for (int j = 1; j <= n; j++) {
+                if (used[j]) continue;
+                int reduced = cost(boxCells[i0], j) - u[i0] - v[j];
+                if (reduced < minv[j]) {
+                    minv[j] = reduced;
+                    way[j] = j0;
+                }
+                if (minv[j] < delta) {
+                    delta = minv[j];
+                    j1 = j;
+                }
+            }
+            for (int j = 0; j <= n; j++) {
+                if (used[j]) {
+                    u[p[j]] += delta;
+                    v[j] -= delta;
+                } else {
+                    minv[j] -= delta;
+                }
+            }
+            j0 = j1;
+        } while (p[j0] != 0);
+        do {
+            int j1 = way[j0];
+            p[j0] = p[j1];
+            j0 = j1;
+        } while (j0 != 0);
+    }
+
+    private int totalCost(int[] boxCells, int[] p) {
+        int total = 0;
+        for (int j = 1; j < p.length; j++) {
+            int c = cost(boxCells[p[j]], j);
+            if (c >= BLOCKED) return INFEASIBLE;
+            total += c;
+        }
+        return total;
+    }
+
+    private int cost(int cell, int column) {
+        return Math.min(goalDistances[column - 1][cell], BLOCKED);
+    }
+}
@@ -0,0 +1,172 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 无界面的批量求解工具。
+ * 【职责】: 用Fork/Join在所有CPU核心上并发求解LevelData中的全部关卡，
+ * 统计每关的求解耗时、扩展节点数和答案长度(经SolutionOptimizer优化后)，并与SolutionData中的预存答案交叉校验。
+ * 用法: java -cp target/classes:&lt;javafx jars&gt; com.ai.sokoban.BatchSolver [--emit | --parallel 关卡号]
+ * 加上 --emit 时额外输出可直接粘贴到SolutionData.SOLUTIONS_STR中的答案字符串；
+ * --parallel 只求解指定的一关，并在该关内部使用并行搜索。
+ */
+public class BatchSolver {
+
+    /** 预存答案与求解结果的交叉校验状态。 */
+    public enum StoredStatus {
+        /** 没有预存答案。 */
+        MISSING,
+        /** 预存答案回放后能过关。 */
+        VALID,
+        /** 预存答案回放后不能过关。 */
+        INVALID
+    }
+
+    /**
+     * 单个关卡的求解结果。
+     */
+    public static final class Result {
+        public final int levelIndex;
+        public final long solveMillis;
+        public final int expandedNodes;
+        public final List<KeyCode> solution;
+        public final int storedLength;
+        public final StoredStatus storedStatus;
+
+        Result(int levelIndex, long solveMillis, int expandedNodes, List<KeyCode> solution,
+               int storedLength, StoredStatus storedStatus) {
+            this.levelIndex = levelIndex;
+            this.solveMillis = solveMillis;
+            this.expandedNodes = expandedNodes;
+            this.solution = solution;
+            this.storedLength = storedLength;
+            this.storedStatus = storedStatus;
+        }
+
+        public boolean isSolved() {
+            return solution != null;
+        }
+    }
+
+    /**
+     * 在给定线程池中并发求解所有关卡。
+     * @return 按关卡顺序排列的结果。
+     */
+    public static List<Result> solveAll(List<int[][]> levels, ForkJoinPool pool) {
+        return pool.invoke(new SolveTask(levels, 0, levels.size()));
+    }
+
+    /**
+     * 求解单个关卡并与预存答案交叉校验。
+     */
+    public static Result solveOne(int[][] level, int levelIndex) {
+        Board board = Board.fromLevel(level);
+        SokobanSolver solver = new SokobanSolver(board);
+        long start = System.nanoTime();
+        List<KeyCode> solution = solver.solve();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (solution != null) solution = SolutionOptimizer.optimize(level, solution);
+
+        List<KeyCode> stored = SolutionData.getSolution(levelIndex);
+        StoredStatus status = StoredStatus.MISSING;
+        if (stored != null) {
+            status = replaySolves(level, stored) ? StoredStatus.VALID : StoredStatus.INVALID;
+        }
+        return new Result(levelIndex, millis, solver.getExpandedNodes(), solution,
+                stored == null ? -1 : stored.size(), status);
+    }
+
+    /**
+     * 用SokobanEngine按游戏规则回放移动序列(撞墙或推不动的步会被忽略，与游戏中一致)，判断最终能否过关。
+     */
+    public static boolean replaySolves(int[][] level, List<KeyCode> moves) {
+        SokobanEngine engine = new SokobanEngine();
+        engine.load(level);
+        for (KeyCode move : moves) {
+            Direction direction = GameLogic.toDirection(move);
+            if (direction != null) engine.move(direction);
+        }
+        return engine.isSolved();
+    }
+
+    public static void main(String[] args) {
+        boolean emit = args.length > 0 && "--emit".equals(args[0]);
+        List<int[][]> levels = LevelData.getLevels();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        if (args.length > 1 && "--parallel".equals(args[0])) {
+            solveSingleInParallel(levels, Integer.parseInt(args[1]) - 1, pool);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Result> results = solveAll(levels, pool);
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-6s %10s %10s %8s %8s  %s%n", "关卡", "耗时(ms)", "扩展节点", "步数", "预存步数", "预存答案");
+        for (Result r : results) {
+            System.out.printf("%-6d %10d %10d %8s %8s  %s%n", r.levelIndex + 1, r.solveMillis, r.expandedNodes,
+                    r.isSolved() ? String.valueOf(r.solution.size()) : "无解",
+                    r.storedLength < 0 ? "-" : String.valueOf(r.storedLength), r.storedStatus);
+        }
+        System.out.printf("共 %d 关，并行度 %d，总耗时 %d ms%n", results.size(), pool.getParallelism(), totalMillis);
+
+        if (emit) {
+            for (Result r : results) {
+                System.out.println("// 关卡 " + (r.levelIndex + 1));
+                System.out.println(r.isSolved() ? "\"" + SolutionData.toSolutionString(r.solution) + "\"," : "null,");
+            }
+        }
+    }
+
+    private static void solveSingleInParallel(List<int[][]> levels, int levelIndex, ForkJoinPool pool) {
+        SokobanSolver solver = new SokobanSolver(levels.get(levelIndex));
+        long start = System.nanoTime();
+        List<KeyCode> solution = solver.solveParallel(SokobanSolver.DEFAULT_MAX_NODES, pool);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("关卡 %d: 耗时 %d ms，扩展节点 %d，步数 %s，并行度 %d%n", levelIndex + 1, millis,
+                solver.getExpandedNodes(), solution == null ? "无解" : String.valueOf(solution.size()),
+                pool.getParallelism());
+        if (solution != null) {
+            System.out.println(SolutionData.toSolutionString(solution));
+        }
+    }
+
+    /**
+     * 把关卡区间对半拆分，直到只剩一关时直接求解。
+     */
+    private static final class SolveTask extends RecursiveTask<List<Result>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<int[][]> levels;
+        private final int from;
+        private final int to;
+
+        SolveTask(List<int[][]> levels, int from, int to) {
+            this.levels = levels;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Result> compute() {
+            List<Result> results = new ArrayList<>();
+            if (to - from <= 1) {
+                if (from < to) results.add(solveOne(levels.get(from), from));
+                return results;
+            }
+            int mid = (from + to) >>> 1;
+            SolveTask left = new SolveTask(levels, from, mid);
+            left.fork();
+            List<Result> right = new SolveTask(levels, mid, to).compute();
+            results.addAll(left.join());
+            results.addAll(right);
+            return results;
+        }
+    }
+}
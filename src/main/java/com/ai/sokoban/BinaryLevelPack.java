@@ -0,0 +1,184 @@
+package com.ai.sokoban;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 二进制关卡包，面向数万关规模的关卡集合。
+ * 【职责】: 用FileChannel.map把整个文件映射到内存，通过偏移表随机访问任意关卡，
+ * 不需要解析文本，也不需要把所有关卡常驻在堆上。
+ * 文件格式(大端序):
+ * 1. 文件头: 魔数 "SKBP"(4字节)，版本号(int)，关卡数(int)。
+ * 2. 偏移表: 每关一个long，为该关记录在文件中的起始位置。
+ * 3. 关卡记录: 行数(short)，列数(short)，随后每个格子3位(LevelData的0~6)，按行优先紧密排列。
+ */
+public class BinaryLevelPack extends AbstractList<int[][]> implements RandomAccess {
+
+    private static final int MAGIC = 0x534B4250; // "SKBP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int BITS_PER_CELL = 3;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private BinaryLevelPack(MappedByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * 映射并校验二进制关卡包：读取文件头，并检查偏移表和每条记录的行列数都落在文件范围内(不解码格子)，
+     * 这样格式错误在打开时就以IOException报告，而不是在JavaFX线程上选关时才出错。
+     * @throws IOException 文件无法读取或格式不正确时抛出。
+     */
+    public static BinaryLevelPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("不是二进制关卡包: " + file);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("不支持的关卡包版本: " + buffer.getInt(4));
+            }
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_SIZE + 8L * count > buffer.limit()) {
+                throw new IOException("关卡包的关卡数与文件大小不符: " + count);
+            }
+            BinaryLevelPack pack = new BinaryLevelPack(buffer, count);
+            for (int i = 0; i < count; i++) {
+                if (pack.recordStart(i) < 0) {
+                    throw new IOException("关卡包第 " + (i + 1) + " 关的记录超出文件范围: " + file);
+                }
+            }
+            return pack;
+        }
+    }
+
+    /**
+     * 把关卡列表(如LevelData.getLevels()或LevelPack)写成二进制关卡包。
+     */
+    public static void write(Path file, List<int[][]> levels) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(levels.size());
+
+            long offset = HEADER_SIZE + 8L * levels.size();
+            for (int[][] level : levels) {
+                out.writeLong(offset);
+                offset += recordSize(level);
+            }
+            for (int[][] level : levels) {
+                writeRecord(out, level);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 直接从映射内存中解码指定关卡。
+     */
+    @Override
+    public int[][] get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("关卡索引越界: " + index);
+        }
+        int position = recordStart(index);
+        if (position < 0) {
+            throw new IllegalStateException("关卡包第 " + (index + 1) + " 关的记录超出文件范围");
+        }
+        int rows = buffer.getShort(position) & 0xFFFF;
+        int cols = buffer.getShort(position + 2) & 0xFFFF;
+        int dataStart = position + 4;
+
+        int[][] level = new int[rows][cols];
+        long bit = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int byteIndex = dataStart + (int) (bit >>> 3);
+                int shift = (int) (bit & 7);
+                int value = buffer.get(byteIndex) & 0xFF;
+                if (shift + BITS_PER_CELL > 8) {
+                    value |= (buffer.get(byteIndex + 1) & 0xFF) << 8;
+                }
+                level[r][c] = (value >>> shift) & 0b111;
+                bit += BITS_PER_CELL;
+            }
+        }
+        return level;
+    }
+
+    /**
+     * 校验并返回关卡记录的起始位置：记录头和全部格子数据都必须位于偏移表之后、文件末尾之前。
+     * @return 起始位置；记录超出文件范围时返回-1。
+     */
+    private int recordStart(int index) {
+        long position = buffer.getLong(HEADER_SIZE + 8 * index);
+        if (position < HEADER_SIZE + 8L * count || position + 4 > buffer.limit()) return -1;
+        long cells = (long) (buffer.getShort((int) position) & 0xFFFF) * (buffer.getShort((int) position + 2) & 0xFFFF);
+        long end = position + 4 + (cells * BITS_PER_CELL + 7) / 8;
+        return end <= buffer.limit() ? (int) position : -1;
+    }
+
+    private static int columnsOf(int[][] level) {
+        int cols = 0;
+        for (int[] row : level) cols = Math.max(cols, row.length);
+        return cols;
+    }
+
+    private static long recordSize(int[][] level) {
+        long cells = (long) level.length * columnsOf(level);
+        return 4 + (cells * BITS_PER_CELL + 7) / 8;
+    }
+
+    private static void writeRecord(DataOutputStream out, int[][] level) throws IOException {
+        int cols = columnsOf(level);
+        out.writeShort(level.length);
+        out.writeShort(cols);
+        int pending = 0;
+        int pendingBits = 0;
+        for (int[] row : level) {
+            for (int c = 0; c < cols; c++) {
+                int tile = c < row.length ? row[c] : 0;
+                pending |= (tile & 0b111) << pendingBits;
+                pendingBits += BITS_PER_CELL;
+                while (pendingBits >= 8) {
+                    out.writeByte(pending & 0xFF);
+                    pending >>>= 8;
+                    pendingBits -= 8;
+                }
+            }
+        }
+        if (pendingBits > 0) out.writeByte(pending & 0xFF);
+    }
+
+    /**
+     * 命令行转换工具: BinaryLevelPack &lt;输入XSB文件 | builtin&gt; &lt;输出文件&gt;
+     * 输入为 builtin 时转换LevelData中的内置关卡。
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: BinaryLevelPack <输入XSB文件 | builtin> <输出文件>");
+            return;
+        }
+        List<int[][]> levels = "builtin".equals(args[0]) ? LevelData.getLevels() : LevelPack.open(Path.of(args[0]));
+        write(Path.of(args[1]), levels);
+        System.out.println("已写入 " + levels.size() + " 个关卡: " + args[1]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ai.sokoban;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 关卡的静态布局。
+ * 【职责】: 保存墙与目标点等每关只需一份的信息，并给出关卡的初始GameState。
+ * 格子编号与GameState一致，为 row * 列数 + col。
+ */
+public final class Board {
+
+    private final int rows;
+    private final int cols;
+    private final boolean[] walls;
+    private final boolean[] goals;
+    private final int[] goalCells;
+    private final GameState initialState;
+
+    private Board(int rows, int cols, boolean[] walls, boolean[] goals, int[] goalCells, GameState initialState) {
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = walls;
+        this.goals = goals;
+        this.goalCells = goalCells;
+        this.initialState = initialState;
+    }
+
+    /**
+     * 解析LevelData格式的关卡网格 (0空地, 1墙, 2目标, 3箱子, 4玩家, 5目标上的箱子, 6目标上的玩家)。
+     */
+    public static Board fromLevel(int[][] level) {
+        int rows = level.length;
+        int cols = Arrays.stream(level).mapToInt(row -> row.length).max().orElse(0);
+        boolean[] walls = new boolean[rows * cols];
+        boolean[] goals = new boolean[rows * cols];
+        long[] boxBits = new long[GameState.wordsFor(rows * cols)];
+        List<Integer> goalList = new ArrayList<>();
+        int player = -1;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int cell = r * cols + c;
+                int tile = c < level[r].length ? level[r][c] : 0;
+                if (tile == 1) walls[cell] = true;
+                if (tile == 2 || tile == 5 || tile == 6) {
+                    goals[cell] = true;
+                    goalList.add(cell);
+                }
+                if (tile == 3 || tile == 5) boxBits[cell >>> 6] |= 1L << cell;
+                if (tile == 4 || tile == 6) player = cell;
+            }
+        }
+        int[] goalCells = goalList.stream().mapToInt(Integer::intValue).toArray();
+        return new Board(rows, cols, walls, goals, goalCells, new GameState(boxBits, player));
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getCellCount() { return rows * cols; }
+    public boolean isWall(int cell) { return walls[cell]; }
+    public boolean isGoal(int cell) { return goals[cell]; }
+    public int[] getGoalCells() { return goalCells.clone(); }
+    public GameState getInitialState() { return initialState; }
+
+    /**
+     * 所有目标点上都有箱子时视为过关。
+     */
+    public boolean isSolved(GameState state) {
+        for (int goal : goalCells) {
+            if (!state.hasBox(goal)) return false;
+        }
+        return true;
+    }
+}
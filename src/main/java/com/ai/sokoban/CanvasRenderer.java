@@ -0,0 +1,92 @@
+package com.ai.sokoban;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * 基于单个Canvas的地图渲染器。
+ * 【职责】: 作为GridPane+ImageView方案的替代后端，把UIManager已加载的图片预先缩放到
+ * 一张精灵图集中，绘制时按格子直接从图集拷贝，并且只重绘GameLogic报告的脏格子。
+ */
+public class CanvasRenderer {
+
+    private final Canvas canvas;
+    private int tileSize;
+    private final Image[] sprites;
+    private WritableImage atlas;
+
+    /**
+     * @param canvas 用于绘制的画布。
+     * @param tileSize 每个格子的初始像素边长，之后可由build调整。
+     * @param sprites 图集中的图片，第0张为地面，其余顺序由调用方决定。
+     */
+    public CanvasRenderer(Canvas canvas, int tileSize, Image... sprites) {
+        this.canvas = canvas;
+        this.tileSize = tileSize;
+        this.sprites = sprites;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * 按关卡尺寸和格子大小调整画布；首次调用或格子大小变化时重新生成预缩放的精灵图集。
+     */
+    public void build(int rows, int cols, int tileSize) {
+        if (atlas == null || tileSize != this.tileSize) {
+            this.tileSize = tileSize;
+            atlas = createAtlas();
+        }
+        canvas.setWidth((double) cols * tileSize);
+        canvas.setHeight((double) rows * tileSize);
+    }
+
+    /**
+     * 重绘一个格子：先画地面，再依次叠加静态图块和动态对象。
+     * @param staticSprite 墙或目标在图集中的编号，没有时传-1。
+     * @param objectSprite 玩家或箱子在图集中的编号，没有时传-1。
+     */
+    public void drawCell(int row, int col, int staticSprite, int objectSprite) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double x = (double) col * tileSize;
+        double y = (double) row * tileSize;
+        blit(gc, 0, x, y);
+        if (staticSprite > 0) blit(gc, staticSprite, x, y);
+        if (objectSprite > 0) blit(gc, objectSprite, x, y);
+    }
+
+    /**
+     * 返回图片在图集中的编号，找不到时返回-1。
+     */
+    public int spriteIndexOf(Image image) {
+        for (int i = 0; i < sprites.length; i++) {
+            if (sprites[i] == image) return i;
+        }
+        return -1;
+    }
+
+    private void blit(GraphicsContext gc, int sprite, double x, double y) {
+        gc.drawImage(atlas, (double) sprite * tileSize, 0, tileSize, tileSize, x, y, tileSize, tileSize);
+    }
+
+    /**
+     * 把所有图片缩放到格子大小后横向排成一行，截取为一张图集，绘制时无需再缩放。
+     */
+    private WritableImage createAtlas() {
+        Canvas scratch = new Canvas((double) sprites.length * tileSize, tileSize);
+        GraphicsContext gc = scratch.getGraphicsContext2D();
+        for (int i = 0; i < sprites.length; i++) {
+            if (sprites[i] != null) {
+                gc.drawImage(sprites[i], (double) i * tileSize, 0, tileSize, tileSize);
+            }
+        }
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        return scratch.snapshot(params, null);
+    }
+}
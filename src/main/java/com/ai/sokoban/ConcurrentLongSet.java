@@ -0,0 +1,60 @@
+package com.ai.sokoban;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的long集合。
+ * 【职责】: 供并行搜索的多个线程共享已访问局面的哈希。
+ * 基于AtomicLongArray的开放寻址表，插入只需一次CAS；容量在创建时固定，内存占用有上限。
+ * 探测超过 PROBE_LIMIT 个槽位仍找不到空位时放弃记录，该局面可能被重复扩展，但不会影响正确性。
+ */
+public final class ConcurrentLongSet {
+
+    private static final int PROBE_LIMIT = 32;
+    // 0 用于表示空槽位，真实的0键映射为另一个固定值
+    private static final long EMPTY = 0L;
+    private static final long ZERO_KEY = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param capacity 期望的槽位数，会向上取整为2的幂。
+     */
+    public ConcurrentLongSet(int capacity) {
+        int size = Integer.highestOneBit(Math.max(PROBE_LIMIT, capacity - 1)) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 加入一个键。
+     * @return 键原本不存在(或表已满无法记录)时返回true；已存在时返回false。
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (index + i) & mask;
+            long current = slots.get(slot);
+            if (current == key) return false;
+            if (current == EMPTY) {
+                if (slots.compareAndSet(slot, EMPTY, key)) return true;
+                // 其他线程抢先写入了该槽位，重新检查它是否就是同一个键
+                if (slots.get(slot) == key) return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            long current = slots.get((index + i) & mask);
+            if (current == key) return true;
+            if (current == EMPTY) return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,166 @@
+package com.ai.sokoban;
+
+import java.util.ArrayDeque;
+import java.util.function.IntPredicate;
+
+/**
+ * 死局检测器。
+ * 【职责】: 基于关卡的静态布局(currentLevelLayout: 0空地, 1墙, 4目标)判断局面是否已无法完成。
+ * 1. 静态死格：预先计算箱子无论如何都推不到任何目标点的格子。
+ * 2. 冻结死局：每次推动后，检查被推箱子是否与墙或其他箱子互相卡死(如2x2方块、贴墙的箱子组)，
+ *    且卡死的箱子中有不在目标点上的。
+ * 格子编号为 row * 列数 + col。
+ */
+public final class DeadlockDetector {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final int rows;
+    private final int cols;
+    private final boolean[] walls;
+    private final boolean[] goals;
+    private final boolean[] dead;
+
+    // 冻结检测时临时视为墙的箱子，以及本次检测中确认冻结的箱子
+    private final boolean[] treatedAsWall;
+    private final int[] touched;
+    private int touchedCount;
+    private boolean frozenOffGoal;
+
+    /**
+     * @param layout GameLogic中的静态布局 (0空地, 1墙, 4目标)。
+     */
+    public DeadlockDetector(int[][] layout) {
+        this.rows = layout.length;
+        this.cols = rows == 0 ? 0 : layout[0].length;
+        this.walls = new boolean[rows * cols];
+        this.goals = new boolean[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                walls[r * cols + c] = layout[r][c] == 1;
+                goals[r * cols + c] = layout[r][c] == 4;
+            }
+        }
+        this.dead = computeDeadSquares();
+        this.treatedAsWall = new boolean[rows * cols];
+        this.touched = new int[rows * cols];
+    }
+
+    /**
+     * 基于Board构造，供求解器使用。
+     */
+    public static DeadlockDetector forBoard(Board board) {
+        int[][] layout = new int[board.getRows()][board.getCols()];
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            int tile = board.isWall(cell) ? 1 : (board.isGoal(cell) ? 4 : 0);
+            layout[cell / board.getCols()][cell % board.getCols()] = tile;
+        }
+        return new DeadlockDetector(layout);
+    }
+
+    /**
+     * 箱子位于该格子时是否必然无法推到任何目标点。
+     */
+    public boolean isDeadCell(int cell) {
+        return dead[cell];
+    }
+
+    /**
+     * 检查刚被推到cell的箱子是否造成了死局(死格或冻结死局)。
+     * @param hasBox 判断某个格子上是否有箱子。
+     * @param cell 刚被推动的箱子所在格子。
+     */
+    public boolean isDeadlockedAfterPush(IntPredicate hasBox, int cell) {
+        return dead[cell] || isFreezeDeadlock(hasBox, cell);
+    }
+
+    /**
+     * 以GameLogic中的动态对象地图(3为箱子)检查刚被推到(row, col)的箱子。
+     */
+    public boolean isDeadlockedAfterPush(int[][] map, int row, int col) {
+        return isDeadlockedAfterPush(cell -> map[cell / cols][cell % cols] == 3, row * cols + col);
+    }
+
+    /**
+     * 冻结死局：箱子在水平和竖直方向上都无法再被推动，并且冻结的箱子中至少有一个不在目标点上。
+     */
+    public boolean isFreezeDeadlock(IntPredicate hasBox, int cell) {
+        touchedCount = 0;
+        frozenOffGoal = false;
+        boolean frozen = isFrozen(hasBox, cell);
+        for (int i = 0; i < touchedCount; i++) treatedAsWall[touched[i]] = false;
+        return frozen && frozenOffGoal;
+    }
+
+    /**
+     * 检查箱子是否冻结。检查期间该箱子视为墙(避免相邻箱子互相递归)；
+     * 结论为"未冻结"时撤销本分支中设置的墙标记和frozenOffGoal，兄弟分支不受其影响。
+     */
+    private boolean isFrozen(IntPredicate hasBox, int cell) {
+        int mark = touchedCount;
+        boolean offGoalBefore = frozenOffGoal;
+        treatedAsWall[cell] = true;
+        touched[touchedCount++] = cell;
+        boolean frozen = isBlockedOnAxis(hasBox, cell, 2) && isBlockedOnAxis(hasBox, cell, 0);
+        if (frozen) {
+            if (!goals[cell]) frozenOffGoal = true;
+        } else {
+            while (touchedCount > mark) treatedAsWall[touched[--touchedCount]] = false;
+            frozenOffGoal = offGoalBefore;
+        }
+        return frozen;
+    }
+
+    /**
+     * 箱子在某个轴上被卡住：两侧之一是墙(或已视为墙的箱子)、两侧都是死格、或一侧是冻结的箱子。
+     * @param firstDir 该轴的第一个方向索引 (0表示竖直轴, 2表示水平轴)。
+     */
+    private boolean isBlockedOnAxis(IntPredicate hasBox, int cell, int firstDir) {
+        int r = cell / cols, c = cell % cols;
+        int a = neighbor(r, c, firstDir);
+        int b = neighbor(r, c, firstDir + 1);
+        if (a < 0 || b < 0 || walls[a] || walls[b] || treatedAsWall[a] || treatedAsWall[b]) return true;
+        if (dead[a] && dead[b]) return true;
+        if (hasBox.test(a) && isFrozen(hasBox, a)) return true;
+        return hasBox.test(b) && isFrozen(hasBox, b);
+    }
+
+    private int neighbor(int r, int c, int dir) {
+        int nr = r + DR[dir], nc = c + DC[dir];
+        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) return -1;
+        return nr * cols + nc;
+    }
+
+    /**
+     * 从所有目标点同时反向"拉"箱子，拉不到的非墙格子即为死格。
+     */
+    private boolean[] computeDeadSquares() {
+        boolean[] reachable = new boolean[rows * cols];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cell = 0; cell < goals.length; cell++) {
+            if (goals[cell]) {
+                reachable[cell] = true;
+                queue.add(cell);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / cols, c = cell % cols;
+            for (int d = 0; d < 4; d++) {
+                // 箱子从from被向d的反方向拉到cell，玩家需站在from再往外一格
+                int from = neighbor(r, c, d);
+                if (from < 0) continue;
+                int player = neighbor(from / cols, from % cols, d);
+                if (player < 0 || walls[from] || walls[player] || reachable[from]) continue;
+                reachable[from] = true;
+                queue.add(from);
+            }
+        }
+        boolean[] deadSquares = new boolean[rows * cols];
+        for (int cell = 0; cell < deadSquares.length; cell++) {
+            deadSquares[cell] = !walls[cell] && !reachable[cell];
+        }
+        return deadSquares;
+    }
+}
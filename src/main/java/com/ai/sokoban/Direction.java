@@ -0,0 +1,33 @@
+package com.ai.sokoban;
+
+/**
+ * 移动方向。
+ * 【职责】: 供无界面的引擎、求解器使用的纯Java方向类型，不依赖JavaFX的KeyCode。
+ * 枚举顺序(0上, 1下, 2左, 3右)与MoveJournal中的方向索引一致。
+ */
+public enum Direction {
+    UP(-1, 0),
+    DOWN(1, 0),
+    LEFT(0, -1),
+    RIGHT(0, 1);
+
+    private static final Direction[] VALUES = values();
+
+    private final int dRow;
+    private final int dCol;
+
+    Direction(int dRow, int dCol) {
+        this.dRow = dRow;
+        this.dCol = dCol;
+    }
+
+    public int getDRow() { return dRow; }
+    public int getDCol() { return dCol; }
+
+    /**
+     * 按MoveJournal中的方向索引取得方向。
+     */
+    public static Direction fromIndex(int index) {
+        return VALUES[index];
+    }
+}
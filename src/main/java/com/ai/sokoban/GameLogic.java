@@ -9,40 +9,71 @@ import javafx.scene.control.Alert;
 import javafx.scene.input.KeyCode;
 import javafx.util.Duration;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.List;
 
 /**
  * 游戏核心逻辑处理类。
- * 【职责】: 负责所有与游戏规则、状态管理和流程控制相关的逻辑，完全与UI界面实现分离。
+ * 【职责】: 负责游戏流程控制(计时、过关提示、答案播放)，并把界面事件转交给无界面的SokobanEngine。
+ * 移动规则与状态管理全部在SokobanEngine中，本类只是它与JavaFX界面之间的适配层。
  */
 public class GameLogic {
 
     private final UIManager uiManager;
     private final List<int[][]> levels;
+    private final boolean useStoredSolutions;
+    private final SolutionCache solutionCache;
+    private final SolutionPrecomputer precomputer;
+    private final SokobanEngine engine = new SokobanEngine();
 
     private int currentLevelIndex = 0;
     private int moveCount = 0;
     private boolean isLevelComplete = false;
-    private int[][] currentMap;
-    private int[][] currentLevelLayout;
-    private List<int[][]> moveHistory;
+    private boolean deadlockWarned = false;
 
     private Timeline timer;
     private int timeSeconds;
 
     private SequentialTransition solutionAnimation;
     private List<KeyCode> solution;
-    private int solutionStep = 0;
+
+    // 正在后台运行的求解；searchGeneration在每次加载关卡或开始新的求解时递增，用于丢弃过期的结果
+    private SearchHandle activeSearch;
+    private int searchGeneration = 0;
+    private SokobanSolver.Mode solverMode = SokobanSolver.Mode.ASTAR;
+
+    // 点击推箱子时已选中的箱子，-1表示未选中
+    private int selectedBoxRow = -1;
+    private int selectedBoxCol = -1;
 
     /**
-     * GameLogic的构造函数。
+     * GameLogic的构造函数，使用内置关卡。
      * @param uiManager UI管理器实例，用于解耦逻辑和视图。
      */
     public GameLogic(UIManager uiManager) {
+        this(uiManager, LevelData.getLevels(), true, null);
+    }
+
+    /**
+     * 使用外部关卡(如LevelPack)构造。外部关卡与SolutionData中的预存答案不对应，答案由求解器计算：
+     * 后台线程会预先求解尚无答案的关卡并写入答案库，答案库中没有时才当场求解。
+     * @param uiManager UI管理器实例。
+     * @param levels 关卡列表，get()会在选中该关时才被调用，可以是延迟解析的列表。
+     * @param solutionCache 本地答案库，为null时不缓存也不做后台预计算。
+     */
+    public GameLogic(UIManager uiManager, List<int[][]> levels, SolutionCache solutionCache) {
+        this(uiManager, levels, false, solutionCache);
+    }
+
+    private GameLogic(UIManager uiManager, List<int[][]> levels, boolean useStoredSolutions, SolutionCache solutionCache) {
         this.uiManager = uiManager;
-        this.levels = LevelData.getLevels();
+        this.levels = levels;
+        this.useStoredSolutions = useStoredSolutions;
+        this.solutionCache = solutionCache;
+        this.precomputer = solutionCache == null ? null : SolutionPrecomputer.withDefaults(levels, solutionCache);
+        if (precomputer != null) precomputer.start(0);
+        engine.setCellListener(uiManager::markDirty);
+        uiManager.setCellClickHandler(this::handleCellClick);
         setupTimer();
         uiManager.setupLevelChoiceBox(levels.size(), (newLevelIndex) -> {
             if (newLevelIndex != currentLevelIndex) {
@@ -51,6 +82,13 @@ public class GameLogic {
         });
     }
 
+    /**
+     * 选择现场求解时使用的搜索模式，默认为A*。
+     */
+    public void setSolverMode(SokobanSolver.Mode solverMode) {
+        this.solverMode = solverMode;
+    }
+
     /**
      * 返回UI管理器的实例。
      */
@@ -77,10 +115,11 @@ public class GameLogic {
         if (levelIndex < 0 || levelIndex >= levels.size()) return;
 
         isLevelComplete = false;
+        deadlockWarned = false;
         currentLevelIndex = levelIndex;
         moveCount = 0;
         timeSeconds = 0;
-        moveHistory = new ArrayList<>();
+        selectedBoxRow = -1;
 
         uiManager.updateLevelLabel(currentLevelIndex + 1);
         uiManager.updateMovesLabel(moveCount);
@@ -88,11 +127,14 @@ public class GameLogic {
         uiManager.selectLevelInChoiceBox(levelIndex);
 
         if (timer != null) timer.playFromStart();
+        cancelSearch();
         stopSolutionAnimation();
 
-        resetMapToInitialState();
-        uiManager.drawMap(currentMap, currentLevelLayout);
-        uiManager.setControlsForManualPlay(e -> undoMove());
+        if (precomputer != null) precomputer.prioritize(currentLevelIndex);
+        engine.load(levels.get(currentLevelIndex));
+        uiManager.buildGrid(engine.getLayout());
+        redraw();
+        uiManager.setControlsForManualPlay(e -> undoMove(), e -> redoMove());
         uiManager.requestFocusOnRoot();
     }
 
@@ -104,46 +146,6 @@ public class GameLogic {
         loadLevel(currentLevelIndex);
     }
 
-    /**
-     * **【逻辑已彻底修正】**
-     * 根据LevelData的原始数据，正确分离静态布局（墙、目标）和动态对象（玩家、箱子）。
-     * 此逻辑现在与您最初在HelloController中的实现完全一致，不会再混淆人物和目标。
-     */
-    private void resetMapToInitialState() {
-        int[][] originalLevel = levels.get(currentLevelIndex);
-        int numRows = originalLevel.length;
-        int maxWidth = Arrays.stream(originalLevel).mapToInt(row -> row.length).max().orElse(0);
-        currentLevelLayout = new int[numRows][maxWidth];
-        currentMap = new int[numRows][maxWidth];
-
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < maxWidth; j++) {
-                if (j < originalLevel[i].length) {
-                    int tile = originalLevel[i][j];
-                    if (tile == 5) { // 箱子在目标点上
-                        currentLevelLayout[i][j] = 2; // 静态背景是目标
-                        currentMap[i][j] = 3;         // 动态对象是箱子
-                    } else if (tile == 4) { // 玩家
-                        currentLevelLayout[i][j] = 0; // 静态背景是空地
-                        currentMap[i][j] = 2;         // 动态对象是玩家
-                    } else if (tile == 2) { // 目标点
-                        currentLevelLayout[i][j] = 4; // 静态背景是目标
-                        currentMap[i][j] = 0;         // 没有动态对象
-                    } else if (tile == 3) { // 仅箱子
-                        currentLevelLayout[i][j] = 0; // 静态背景是空地
-                        currentMap[i][j] = 3;         // 动态对象是箱子
-                    } else { // 墙(1)或空地(0)
-                        currentLevelLayout[i][j] = tile; // 它们是静态背景
-                        currentMap[i][j] = 0;            // 没有动态对象
-                    }
-                } else {
-                    currentLevelLayout[i][j] = 0;
-                    currentMap[i][j] = 0;
-                }
-            }
-        }
-    }
-
     /**
      * 处理玩家的移动请求。
      */
@@ -152,73 +154,93 @@ public class GameLogic {
 
         if (solutionAnimation != null && solutionAnimation.getStatus() == Animation.Status.PAUSED) {
             stopSolutionAnimation();
-            uiManager.setControlsForManualPlay(e -> undoMove());
+            moveCount = engine.getMoveCount();
+            uiManager.setControlsForManualPlay(e -> undoMove(), e -> redoMove());
         }
 
-        if (!Arrays.asList(KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT).contains(code)) return;
+        Direction direction = toDirection(code);
+        if (direction == null) return;
 
-        int[] playerPos = findPlayer();
-        if (playerPos == null) return;
-
-        moveHistory.add(deepCopy(currentMap));
-
-        if (movePlayer(playerPos[0], playerPos[1], code)) {
-            moveCount++;
-            uiManager.updateMovesLabel(moveCount);
-            uiManager.drawMap(currentMap, currentLevelLayout);
+        uiManager.updatePlayerImage(code);
+        SokobanEngine.MoveResult result = engine.move(direction);
+        if (result != SokobanEngine.MoveResult.BLOCKED) {
+            moveCount = engine.getMoveCount();
+            updateMovesLabelWithRepetition();
+            redraw();
             checkWinCondition();
-        } else {
-            moveHistory.remove(moveHistory.size() - 1);
+            if (result == SokobanEngine.MoveResult.PUSHED) checkDeadlock();
         }
     }
 
     /**
-     * 核心移动逻辑。
+     * 处理棋盘格子的鼠标点击：先点箱子选中它，再点目标格子，引擎规划最少推动次数的推法及其间的走路，
+     * 作为一次宏移动执行(一次撤销即可整组撤回)；未选中箱子时点击空地则让玩家走过去。
+     * 再次点击已选中的箱子取消选择。
      */
-    private boolean movePlayer(int playerRow, int playerCol, KeyCode code) {
-        int dRow = 0, dCol = 0;
-        switch (code) {
-            case UP:    dRow = -1; break;
-            case DOWN:  dRow = 1;  break;
-            case LEFT:  dCol = -1; break;
-            case RIGHT: dCol = 1;  break;
+    public void handleCellClick(int row, int col) {
+        if (isLevelComplete || activeSearch != null) return;
+        if (solutionAnimation != null) {
+            if (solutionAnimation.getStatus() != Animation.Status.PAUSED) return;
+            stopSolutionAnimation();
+            moveCount = engine.getMoveCount();
+            uiManager.setControlsForManualPlay(e -> undoMove(), e -> redoMove());
         }
-        uiManager.updatePlayerImage(code);
 
-        int targetRow = playerRow + dRow;
-        int targetCol = playerCol + dCol;
-
-        if (!isValid(targetRow, targetCol) || currentLevelLayout[targetRow][targetCol] == 1) return false;
-
-        int targetObject = currentMap[targetRow][targetCol];
-        if (targetObject == 0) {
-            move(playerRow, playerCol, targetRow, targetCol, 2);
-            return true;
-        } else if (targetObject == 3) {
-            int boxTargetRow = targetRow + dRow;
-            int boxTargetCol = targetCol + dCol;
-            if (isValid(boxTargetRow, boxTargetCol) && currentLevelLayout[boxTargetRow][boxTargetCol] != 1 && currentMap[boxTargetRow][boxTargetCol] == 0) {
-                move(targetRow, targetCol, boxTargetRow, boxTargetCol, 3);
-                move(playerRow, playerCol, targetRow, targetCol, 2);
-                return true;
+        int[][] map = engine.getMap();
+        if (selectedBoxRow >= 0 && map[selectedBoxRow][selectedBoxCol] != 3) selectedBoxRow = -1;
+        if (map[row][col] == 3) {
+            boolean reselect = row == selectedBoxRow && col == selectedBoxCol;
+            selectedBoxRow = reselect ? -1 : row;
+            selectedBoxCol = reselect ? -1 : col;
+            if (reselect) {
+                uiManager.updateMovesLabel(moveCount);
+            } else {
+                uiManager.updateMovesLabelText("已选中箱子，请点击目标格子");
             }
+            return;
         }
-        return false;
+
+        List<Direction> moves = selectedBoxRow >= 0
+                ? engine.planBoxMove(selectedBoxRow, selectedBoxCol, row, col)
+                : engine.planWalk(row, col);
+        if (moves == null || moves.isEmpty()) return;
+        selectedBoxRow = -1;
+
+        int applied = engine.moveBatch(moves);
+        if (applied == 0) return;
+        uiManager.updatePlayerImage(toKeyCode(moves.get(applied - 1)));
+        moveCount = engine.getMoveCount();
+        updateMovesLabelWithRepetition();
+        redraw();
+        checkWinCondition();
+        checkDeadlock();
     }
 
-    private void move(int oldRow, int oldCol, int newRow, int newCol, int objectId) {
-        currentMap[oldRow][oldCol] = 0;
-        currentMap[newRow][newCol] = objectId;
+    /**
+     * 刚推动过箱子时检查是否已形成死局，是则提示玩家撤销或重置(每次进入死局只提示一次)。
+     */
+    private void checkDeadlock() {
+        if (isLevelComplete || deadlockWarned) return;
+        if (engine.isDeadlockedAfterLastMove()) {
+            deadlockWarned = true;
+            showAlertAndThen("死局", "箱子已被卡死，本关无法完成了。请撤销或重置本关。", null);
+        }
     }
 
-    private void checkWinCondition() {
-        for (int i = 0; i < currentLevelLayout.length; i++) {
-            for (int j = 0; j < currentLevelLayout[i].length; j++) {
-                if (currentLevelLayout[i][j] == 4 && currentMap[i][j] != 3) {
-                    return;
-                }
-            }
+    /**
+     * 更新步数显示；如果玩家回到了之前出现过的局面，在步数后提示是第几步的局面。
+     */
+    private void updateMovesLabelWithRepetition() {
+        int firstSeen = engine.recordPosition();
+        if (firstSeen >= 0) {
+            uiManager.updateMovesLabelRepeated(moveCount, firstSeen);
+        } else {
+            uiManager.updateMovesLabel(moveCount);
         }
+    }
+
+    private void checkWinCondition() {
+        if (!engine.isSolved()) return;
         isLevelComplete = true;
         timer.stop();
         uiManager.disableKeyboardInput();
@@ -234,61 +256,199 @@ public class GameLogic {
     }
 
     public void undoMove() {
-        if (!moveHistory.isEmpty()) {
-            currentMap = moveHistory.remove(moveHistory.size() - 1);
-            moveCount--;
+        Direction direction = engine.undo();
+        if (direction != null) {
+            deadlockWarned = false;
+            uiManager.updatePlayerImage(toKeyCode(direction));
+            moveCount = engine.getMoveCount();
             uiManager.updateMovesLabel(moveCount);
-            uiManager.drawMap(currentMap, currentLevelLayout);
+            redraw();
+        }
+    }
+
+    /**
+     * 重做上一次被撤销的移动。
+     */
+    public void redoMove() {
+        if (isLevelComplete) return;
+        Direction direction = engine.redo();
+        if (direction != null) {
+            uiManager.updatePlayerImage(toKeyCode(direction));
+            moveCount = engine.getMoveCount();
+            uiManager.updateMovesLabel(moveCount);
+            redraw();
+            checkWinCondition();
         }
     }
 
     public void solveLevel() {
         resetCurrentLevel();
         timer.stop();
-        solution = SolutionData.getSolution(currentLevelIndex);
-        solutionStep = 0;
+        solution = findStoredSolution(currentLevelIndex);
         if (solution == null) {
-            showAlertAndThen("提示", "此关卡没有可用答案。", null);
+            // 没有预存答案时，在后台线程调用求解器，界面保持响应
+            startSearch();
         } else {
-            uiManager.updateMovesLabelText("开始播放解法...");
-            animateSolution(solution, 0);
+            playSolution(solution);
         }
     }
 
-    private void animateSolution(List<KeyCode> moves, int startingStep) {
+    private void playSolution(List<KeyCode> moves) {
+        solution = moves;
+        loadSolutionIntoHistory(moves);
+        uiManager.updateMovesLabelText("开始播放解法...");
+        animateSolution(0);
+    }
+
+    /**
+     * 在后台线程中搜索当前关卡的答案。进度与结果都通过Platform.runLater回到JavaFX线程，
+     * 期间关卡被重置或切换时，过期的结果会被丢弃。
+     */
+    private void startSearch() {
+        int generation = ++searchGeneration;
+        int levelIndex = currentLevelIndex;
+        SearchHandle handle = new SearchHandle();
+        activeSearch = handle;
+        uiManager.setControlsForSearching();
+        uiManager.updateMovesLabelText("求解中...");
+
+        Thread thread = new Thread(() -> {
+            // 构造求解器可能要建立模式数据库(大关卡需要数秒)，必须在后台线程中进行
+            SokobanSolver solver = new SokobanSolver(levels.get(levelIndex), true);
+            solver.setProgressListener((nodes, bound) -> Platform.runLater(() -> {
+                if (generation == searchGeneration) uiManager.updateSearchProgress(nodes, bound);
+            }));
+            handle.attach(solver);
+            List<KeyCode> found = solver.solve(solverMode);
+            List<KeyCode> result = found == null ? null : SolutionOptimizer.optimize(levels.get(levelIndex), found);
+            // 答案库在所有模式间共享，只保存推动最少的答案
+            if (result != null && solverMode.isPushOptimal()) storeSolution(levelIndex, result);
+            Platform.runLater(() -> finishSearch(generation, result));
+        }, "sokoban-solver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void finishSearch(int generation, List<KeyCode> result) {
+        if (generation != searchGeneration) return;
+        activeSearch = null;
+        if (result != null) {
+            playSolution(result);
+            return;
+        }
+        uiManager.hidePauseButton();
+        uiManager.setControlsForManualPlay(e -> undoMove(), e -> redoMove());
+        uiManager.updateMovesLabel(moveCount);
+        showAlertAndThen("提示", "此关卡没有可用答案。", null);
+    }
+
+    /**
+     * 取消正在进行的后台求解(没有时不做任何事)。
+     */
+    public void cancelSearch() {
+        if (activeSearch == null) return;
+        activeSearch.cancel();
+        activeSearch = null;
+        searchGeneration++;
+    }
+
+    /**
+     * 程序退出时调用：取消现场求解并停止后台预计算。
+     */
+    public void shutdown() {
+        cancelSearch();
+        if (precomputer != null) precomputer.stop();
+    }
+
+    /**
+     * 一次后台求解的取消句柄。求解器在后台线程中构造，构造完成前就可能被取消：
+     * 两个字段都是volatile，attach与cancel无论谁先执行，求解器最终都会收到cancel。
+     */
+    private static final class SearchHandle {
+        private volatile SokobanSolver solver;
+        private volatile boolean cancelled;
+
+        void attach(SokobanSolver solver) {
+            this.solver = solver;
+            if (cancelled) solver.cancel();
+        }
+
+        void cancel() {
+            cancelled = true;
+            SokobanSolver current = solver;
+            if (current != null) current.cancel();
+        }
+    }
+
+    /**
+     * 查找已有答案。SolutionData中手工录入的答案先经过SolutionOptimizer缩短；答案库中的答案存入前已优化过。
+     * 当前搜索模式不保证推动最少(Mode.isPushOptimal)时返回 null，由startSearch按该模式求解。
+     */
+    private List<KeyCode> findStoredSolution(int levelIndex) {
+        if (!solverMode.isPushOptimal()) return null;
+        if (useStoredSolutions) {
+            List<KeyCode> stored = SolutionData.getSolution(levelIndex);
+            return stored == null ? null : SolutionOptimizer.optimize(levels.get(levelIndex), stored);
+        }
+        return solutionCache == null ? null : solutionCache.get(levels.get(levelIndex));
+    }
+
+    private void storeSolution(int levelIndex, List<KeyCode> moves) {
+        if (solutionCache == null) return;
+        try {
+            solutionCache.put(levels.get(levelIndex), moves);
+        } catch (IOException e) {
+            System.err.println("答案缓存保存失败");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 预先执行一遍答案，把每一步写入引擎的撤销日志后再回到起点，之后的播放与前后翻步都只是在日志中移动游标。
+     */
+    private void loadSolutionIntoHistory(List<KeyCode> moves) {
+        for (KeyCode move : moves) {
+            Direction direction = toDirection(move);
+            if (direction != null) engine.move(direction);
+        }
+        engine.seek(0);
+        uiManager.invalidateAll();
+    }
+
+    private void animateSolution(int startingStep) {
         solutionAnimation = new SequentialTransition();
         uiManager.setControlsForSolving();
-        for (int i = 0; i < moves.size(); i++) {
-            final int currentMoveIndex = i;
-            KeyFrame kf = new KeyFrame(Duration.millis(100), e -> {
-                solutionStep = startingStep + currentMoveIndex + 1;
-                KeyCode move = moves.get(currentMoveIndex);
-                int[] playerPos = findPlayer();
-                if (playerPos != null) {
-                    movePlayer(playerPos[0], playerPos[1], move);
-                    uiManager.updateMovesLabel(solutionStep);
-                    uiManager.drawMap(currentMap, currentLevelLayout);
-                }
-            });
+        for (int i = startingStep; i < engine.getHistorySize(); i++) {
+            KeyFrame kf = new KeyFrame(Duration.millis(100), e -> nextSolutionStep());
             solutionAnimation.getChildren().add(new Timeline(kf));
         }
         solutionAnimation.setOnFinished(e -> {
             stopSolutionAnimation();
-            uiManager.setControlsForManualPlay(evt -> undoMove());
+            moveCount = engine.getMoveCount();
+            uiManager.setControlsForManualPlay(evt -> undoMove(), evt -> redoMove());
             checkWinCondition();
         });
         solutionAnimation.play();
     }
 
     public void toggleSolutionAnimation() {
+        if (activeSearch != null) {
+            // 求解期间暂停按钮用作"取消求解"，取消后回到手动游戏
+            cancelSearch();
+            uiManager.hidePauseButton();
+            uiManager.setControlsForManualPlay(e -> undoMove(), e -> redoMove());
+            uiManager.updateMovesLabelText("已取消求解");
+            timer.play();
+            return;
+        }
         if (solutionAnimation == null) return;
         if (solutionAnimation.getStatus() == Animation.Status.RUNNING) {
             solutionAnimation.pause();
-            uiManager.setControlsForPausedSolution(e -> prevSolutionStep(), e -> nextSolutionStep());
+            uiManager.setControlsForPausedSolution(e -> prevSolutionStep(), e -> nextSolutionStep(),
+                    engine.getHistorySize(), engine.getMoveCount(), this::seekSolutionStep);
         } else if (solutionAnimation.getStatus() == Animation.Status.PAUSED) {
-            if (solution != null && solutionStep < solution.size()) {
-                List<KeyCode> remainingMoves = solution.subList(solutionStep, solution.size());
-                animateSolution(remainingMoves, solutionStep);
+            if (engine.canRedo()) {
+                animateSolution(engine.getMoveCount());
             }
         }
     }
@@ -302,47 +462,53 @@ public class GameLogic {
     }
 
     private void prevSolutionStep() {
-        if (solutionStep > 0) {
-            solutionStep--;
-            applySolutionStep(solutionStep);
-        }
+        showSolutionStep(engine.undo());
     }
 
     private void nextSolutionStep() {
-        if (solution != null && solutionStep < solution.size()) {
-            solutionStep++;
-            applySolutionStep(solutionStep);
-        }
+        showSolutionStep(engine.redo());
     }
 
-    private void applySolutionStep(int step) {
-        resetMapToInitialState();
-        for (int i = 0; i < step; i++) {
-            int[] playerPos = findPlayer();
-            if (playerPos != null) {
-                movePlayer(playerPos[0], playerPos[1], solution.get(i));
-            }
-        }
-        uiManager.updateMovesLabel(step);
-        uiManager.drawMap(currentMap, currentLevelLayout);
+    /**
+     * 跳转到答案的任意一步。
+     * @param step 目标步数 (0表示初始局面)。
+     */
+    private void seekSolutionStep(int step) {
+        showSolutionStep(engine.seek(step));
     }
 
-    private int[] findPlayer() {
-        for (int i = 0; i < currentMap.length; i++) {
-            for (int j = 0; j < currentMap[i].length; j++) {
-                if (currentMap[i][j] == 2) return new int[]{i, j};
-            }
-        }
-        return null;
+    private void showSolutionStep(Direction direction) {
+        if (direction == null) return;
+        uiManager.updatePlayerImage(toKeyCode(direction));
+        uiManager.updateMovesLabel(engine.getMoveCount());
+        uiManager.updateSolutionSlider(engine.getMoveCount());
+        redraw();
     }
 
-    private boolean isValid(int row, int col) {
-        return row >= 0 && row < currentMap.length && col >= 0 && col < currentMap[row].length;
+    private void redraw() {
+        uiManager.drawMap(engine.getMap(), engine.getLayout());
     }
 
-    private int[][] deepCopy(int[][] original) {
-        if (original == null) return null;
-        return Arrays.stream(original).map(int[]::clone).toArray(int[][]::new);
+    /**
+     * 把方向键转换为引擎使用的方向，其他按键返回 null。
+     */
+    static Direction toDirection(KeyCode code) {
+        switch (code) {
+            case UP:    return Direction.UP;
+            case DOWN:  return Direction.DOWN;
+            case LEFT:  return Direction.LEFT;
+            case RIGHT: return Direction.RIGHT;
+            default:    return null;
+        }
+    }
+
+    static KeyCode toKeyCode(Direction direction) {
+        switch (direction) {
+            case UP:    return KeyCode.UP;
+            case DOWN:  return KeyCode.DOWN;
+            case LEFT:  return KeyCode.LEFT;
+            default:    return KeyCode.RIGHT;
+        }
     }
 
     private void showAlertAndThen(String title, String message, Runnable onOk) {
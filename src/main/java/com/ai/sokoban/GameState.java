@@ -0,0 +1,109 @@
+package com.ai.sokoban;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑的不可变游戏状态。
+ * 【职责】: 只记录关卡中会变化的部分——箱子位置(位图)与玩家所在格子，
+ * 墙和目标点等静态布局由Board或currentLevelLayout按关卡保存一份。
+ * 格子编号为 row * 列数 + col，16x16的关卡只需4个long(32字节)即可表示全部箱子。
+ */
+public final class GameState {
+
+    private final long[] boxBits;
+    private final int playerCell;
+
+    /**
+     * 包内构造函数，直接持有传入的位图，调用方保证之后不再修改它。
+     */
+    GameState(long[] boxBits, int playerCell) {
+        this.boxBits = boxBits;
+        this.playerCell = playerCell;
+    }
+
+    /**
+     * 从动态对象地图(2玩家, 3箱子)中提取状态。
+     * @param map GameLogic中的currentMap。
+     * @return 对应的紧凑状态；地图中没有玩家时玩家格子为-1。
+     */
+    public static GameState capture(int[][] map) {
+        int cols = map.length == 0 ? 0 : map[0].length;
+        long[] bits = new long[wordsFor(map.length * cols)];
+        int player = -1;
+        for (int r = 0; r < map.length; r++) {
+            for (int c = 0; c < map[r].length; c++) {
+                int cell = r * cols + c;
+                if (map[r][c] == 3) {
+                    bits[cell >>> 6] |= 1L << cell;
+                } else if (map[r][c] == 2) {
+                    player = cell;
+                }
+            }
+        }
+        return new GameState(bits, player);
+    }
+
+    static int wordsFor(int cellCount) {
+        return (cellCount + 63) >>> 6;
+    }
+
+    public int getPlayerCell() {
+        return playerCell;
+    }
+
+    public boolean hasBox(int cell) {
+        int word = cell >>> 6;
+        return cell >= 0 && word < boxBits.length && (boxBits[word] & (1L << cell)) != 0;
+    }
+
+    /**
+     * 返回编号不小于fromCell的第一个箱子所在格子，用于遍历箱子。
+     * @return 格子编号；没有更多箱子时返回-1。
+     */
+    public int nextBox(int fromCell) {
+        int word = fromCell >>> 6;
+        if (fromCell < 0 || word >= boxBits.length) return -1;
+        long bits = boxBits[word] & (-1L << fromCell);
+        while (true) {
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == boxBits.length) return -1;
+            bits = boxBits[word];
+        }
+    }
+
+    public int boxCount() {
+        int count = 0;
+        for (long bits : boxBits) count += Long.bitCount(bits);
+        return count;
+    }
+
+    /**
+     * 返回把箱子从from推到to、玩家站到newPlayerCell之后的新状态。
+     */
+    public GameState withBoxMoved(int from, int to, int newPlayerCell) {
+        long[] bits = boxBits.clone();
+        bits[from >>> 6] &= ~(1L << from);
+        bits[to >>> 6] |= 1L << to;
+        return new GameState(bits, newPlayerCell);
+    }
+
+    /**
+     * 返回箱子不变、玩家位于playerCell的状态，与当前状态共享箱子位图。
+     */
+    public GameState withPlayer(int playerCell) {
+        return playerCell == this.playerCell ? this : new GameState(boxBits, playerCell);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState other = (GameState) o;
+        return playerCell == other.playerCell && Arrays.equals(boxBits, other.boxBits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(boxBits) + playerCell;
+    }
+}
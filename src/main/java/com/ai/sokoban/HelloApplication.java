@@ -16,6 +16,8 @@ import java.io.IOException;
  */
 public class HelloApplication extends Application {
 
+    private HelloController controller;
+
     /**
      * JavaFX应用的启动方法，是程序的主入口点。
      * @param stage 主舞台对象，由JavaFX平台自动创建和传入。
@@ -28,7 +30,7 @@ public class HelloApplication extends Application {
 
         // 2. 加载FXML定义的根节点 (StackPane) 并获取其控制器
         StackPane root = fxmlLoader.load();
-        HelloController controller = fxmlLoader.getController();
+        controller = fxmlLoader.getController();
 
         // 3. 创建场景(Scene)
         Scene scene = new Scene(root);
@@ -56,6 +58,14 @@ public class HelloApplication extends Application {
         root.requestFocus();
     }
 
+    /**
+     * 窗口关闭、应用退出时由JavaFX调用，通知控制器停止后台线程。
+     */
+    @Override
+    public void stop() {
+        if (controller != null) controller.shutdown();
+    }
+
     /**
      * Java程序的main方法。
      * @param args 命令行参数（本游戏中未使用）。
@@ -5,11 +5,16 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
 /**
  * 主视图(hello-view.fxml)的控制器。
  * 【职责】: 充当视图(View)和业务逻辑(Logic)之间的桥梁。
@@ -31,6 +36,7 @@ public class HelloController {
     @FXML private Button pauseButton;
     @FXML private Button prevStepButton;
     @FXML private Button nextStepButton;
+    @FXML private Slider solutionSlider;
 
     private GameLogic gameLogic; // 游戏核心逻辑处理器
 
@@ -43,16 +49,60 @@ public class HelloController {
         UIManager uiManager = new UIManager(
                 rootPane, gameGrid, levelLabel, movesLabel, timeLabel,
                 solveButton, resetButton, levelChoiceBox, pauseButton,
-                prevStepButton, nextStepButton
+                prevStepButton, nextStepButton, solutionSlider
         );
 
+        // 启动参数 -Dsokoban.renderer=canvas 可切换到Canvas渲染后端，默认使用GridPane
+        if ("canvas".equalsIgnoreCase(System.getProperty("sokoban.renderer"))) {
+            uiManager.enableCanvasRenderer();
+        }
+
         // 2. 创建游戏逻辑处理器，并将UI管理器传入，以便逻辑处理器在需要时可以更新UI
-        this.gameLogic = new GameLogic(uiManager);
+        //    启动参数 -Dsokoban.levels=关卡包路径 可加载外部XSB/SOK关卡包(或.skb二进制关卡包)，否则使用内置关卡
+        this.gameLogic = createGameLogic(uiManager);
+        //    启动参数 -Dsokoban.solver=ida 让现场求解使用IDA*(适合内存很小的环境)，=bidi 使用双向搜索，
+        //    =moves 求移动次数最少的答案(默认求推动次数最少的答案)，=parallel 在所有CPU核心上并行搜索
+        String solverMode = System.getProperty("sokoban.solver", "");
+        if ("ida".equalsIgnoreCase(solverMode)) {
+            gameLogic.setSolverMode(SokobanSolver.Mode.IDA_STAR);
+        } else if ("bidi".equalsIgnoreCase(solverMode)) {
+            gameLogic.setSolverMode(SokobanSolver.Mode.BIDIRECTIONAL);
+        } else if ("moves".equalsIgnoreCase(solverMode)) {
+            gameLogic.setSolverMode(SokobanSolver.Mode.MOVE_OPTIMAL);
+        } else if ("parallel".equalsIgnoreCase(solverMode)) {
+            gameLogic.setSolverMode(SokobanSolver.Mode.PARALLEL);
+        }
 
         // 3. 控制器调用游戏逻辑处理器，开始加载第一个关卡
         gameLogic.loadLevel(0);
     }
 
+    private GameLogic createGameLogic(UIManager uiManager) {
+        String levelPackPath = System.getProperty("sokoban.levels");
+        if (levelPackPath != null) {
+            try {
+                Path path = Path.of(levelPackPath);
+                List<int[][]> pack = levelPackPath.endsWith(".skb") ? BinaryLevelPack.open(path) : LevelPack.open(path);
+                if (!pack.isEmpty()) {
+                    // 求解器算出的答案按关卡布局存入用户目录下的答案库，所有关卡包共用
+                    return new GameLogic(uiManager, pack, SolutionCache.openDefault());
+                }
+                System.err.println("关卡包中没有关卡: " + levelPackPath);
+            } catch (IOException e) {
+                System.err.println("关卡包加载失败: " + levelPackPath);
+                e.printStackTrace();
+            }
+        }
+        return new GameLogic(uiManager);
+    }
+
+    /**
+     * 由HelloApplication在程序退出时调用，停止所有后台求解线程。
+     */
+    public void shutdown() {
+        if (gameLogic != null) gameLogic.shutdown();
+    }
+
     /**
      * 由HelloApplication调用，用于将最顶层的根节点和键盘事件处理器传递进来。
      * @param rootPane 应用程序的根StackPane。
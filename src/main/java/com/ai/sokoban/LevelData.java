@@ -10,442 +10,265 @@ public class LevelData {
 
         // 关卡 1
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,2,1,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,0,1,1,1,1,0,0,0,0},
-                {0,0,0,0,1,1,1,3,0,3,2,1,0,0,0,0},
-                {0,0,0,0,1,2,0,3,4,1,1,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,3,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,1,2,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,0,0,0},
+                {0,0,1,2,1,0,0,0},
+                {0,0,1,0,1,1,1,1},
+                {1,1,1,3,0,3,2,1},
+                {1,2,0,3,4,1,1,1},
+                {1,1,1,1,3,1,0,0},
+                {0,0,0,1,2,1,0,0},
+                {0,0,0,1,1,1,0,0}
         });
 
         // 关卡 2
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,0,0,0,0,0,0,0},
-                {0,0,0,0,1,4,0,0,1,0,0,0,0,0,0,0},
-                {0,0,0,0,1,0,3,3,1,0,1,1,1,0,0,0},
-                {0,0,0,0,1,0,3,0,1,0,1,2,1,0,0,0},
-                {0,0,0,0,1,1,1,0,1,1,1,2,1,0,0,0},
-                {0,0,0,0,0,1,1,0,0,0,0,2,1,0,0,0},
-                {0,0,0,0,0,1,0,0,0,1,0,0,1,0,0,0},
-                {0,0,0,0,0,1,0,0,0,1,1,1,1,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {1,1,1,1,1,0,0,0,0},
+                {1,4,0,0,1,0,0,0,0},
+                {1,0,3,3,1,0,1,1,1},
+                {1,0,3,0,1,0,1,2,1},
+                {1,1,1,0,1,1,1,2,1},
+                {0,1,1,0,0,0,0,2,1},
+                {0,1,0,0,0,1,0,0,1},
+                {0,1,0,0,0,1,1,1,1},
+                {0,1,1,1,1,1,0,0,0}
         });
 
         // 关卡 3
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,1,0,0,0,0,0,1,1,1,0,0,0},
-                {0,0,0,1,1,3,1,1,1,0,0,0,1,0,0,0},
-                {0,0,0,1,0,4,0,3,0,0,3,0,1,0,0,0},
-                {0,0,0,1,0,2,2,1,0,3,0,1,1,0,0,0},
-                {0,0,0,1,1,2,2,1,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,1,1,1,0,0},
+                {0,1,0,0,0,0,0,1,1,1},
+                {1,1,3,1,1,1,0,0,0,1},
+                {1,0,4,0,3,0,0,3,0,1},
+                {1,0,2,2,1,0,3,0,1,1},
+                {1,1,2,2,1,0,0,0,1,0},
+                {0,1,1,1,1,1,1,1,1,0}
         });
 
         // 关卡 4
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,0,0,1,0,0,0,0,0,0,0},
-                {0,0,0,0,1,4,3,0,1,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,3,0,1,1,0,0,0,0,0,0},
-                {0,0,0,0,1,1,0,3,0,1,0,0,0,0,0,0},
-                {0,0,0,0,1,2,3,0,0,1,0,0,0,0,0,0},
-                {0,0,0,0,1,2,2,5,2,1,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,0},
+                {1,1,0,0,1,0},
+                {1,4,3,0,1,0},
+                {1,1,3,0,1,1},
+                {1,1,0,3,0,1},
+                {1,2,3,0,0,1},
+                {1,2,2,5,2,1},
+                {1,1,1,1,1,1}
         });
 
         // 关卡 5
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,1,4,0,1,1,1,0,0,0,0,0},
-                {0,0,0,0,0,1,0,3,0,0,1,0,0,0,0,0},
-                {0,0,0,0,1,1,1,0,1,0,1,1,0,0,0,0},
-                {0,0,0,0,1,2,1,0,1,0,0,1,0,0,0,0},
-                {0,0,0,0,1,2,3,0,0,1,0,1,0,0,0,0},
-                {0,0,0,0,1,2,0,0,0,3,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,1,0,0},
+                {0,1,4,0,1,1,1,0},
+                {0,1,0,3,0,0,1,0},
+                {1,1,1,0,1,0,1,1},
+                {1,2,1,0,1,0,0,1},
+                {1,2,3,0,0,1,0,1},
+                {1,2,0,0,0,3,0,1},
+                {1,1,1,1,1,1,1,1}
         });
 
         // 关卡 6
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,0,0,0,0,0},
-                {0,1,1,1,1,0,0,0,0,0,1,0,0,0,0,0},
-                {0,1,0,0,0,2,1,1,1,0,1,0,0,0,0,0},
-                {0,1,0,1,0,1,0,0,0,0,1,1,0,0,0,0},
-                {0,1,0,1,0,3,0,3,1,2,0,1,0,0,0,0},
-                {0,1,0,1,0,0,5,0,0,1,0,1,0,0,0,0},
-                {0,1,0,2,1,3,0,3,0,1,0,1,0,0,0,0},
-                {0,1,1,0,0,0,0,1,0,1,0,1,1,1,0,0},
-                {0,0,1,0,1,1,1,2,0,0,0,0,4,1,0,0},
-                {0,0,1,0,0,0,0,0,1,1,0,0,0,1,0,0},
-                {0,0,1,1,1,1,1,1,1,1,1,1,1,1,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,0,1,1,1,1,1,1,1,0,0,0},
+                {1,1,1,1,0,0,0,0,0,1,0,0,0},
+                {1,0,0,0,2,1,1,1,0,1,0,0,0},
+                {1,0,1,0,1,0,0,0,0,1,1,0,0},
+                {1,0,1,0,3,0,3,1,2,0,1,0,0},
+                {1,0,1,0,0,5,0,0,1,0,1,0,0},
+                {1,0,2,1,3,0,3,0,1,0,1,0,0},
+                {1,1,0,0,0,0,1,0,1,0,1,1,1},
+                {0,1,0,1,1,1,2,0,0,0,0,4,1},
+                {0,1,0,0,0,0,0,1,1,0,0,0,1},
+                {0,1,1,1,1,1,1,1,1,1,1,1,1}
         });
 
         // 关卡 7
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,1,1,0,0,1,0,4,1,0,0,0},
-                {0,0,0,0,0,1,0,0,0,1,0,0,1,0,0,0},
-                {0,0,0,0,0,1,3,0,3,0,3,0,1,0,0,0},
-                {0,0,0,0,0,1,0,3,1,1,0,0,1,0,0,0},
-                {0,0,0,1,1,1,0,3,0,1,0,1,1,0,0,0},
-                {0,0,0,1,2,2,2,2,2,0,0,1,0,0,0,0},
-                {0,0,0,1,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,0,1,1,1,1,1,1,1},
+                {0,0,1,1,0,0,1,0,4,1},
+                {0,0,1,0,0,0,1,0,0,1},
+                {0,0,1,3,0,3,0,3,0,1},
+                {0,0,1,0,3,1,1,0,0,1},
+                {1,1,1,0,3,0,1,0,1,1},
+                {1,2,2,2,2,2,0,0,1,0},
+                {1,1,1,1,1,1,1,1,1,0}
         });
 
         // 关卡 8
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,1,1,1,0,0,0,0,1,0,0,0,0},
-                {0,0,0,1,1,2,0,3,1,1,0,1,1,0,0,0},
-                {0,0,0,1,2,2,3,0,3,0,0,4,1,0,0,0},
-                {0,0,0,1,2,2,0,3,0,3,0,1,1,0,0,0},
-                {0,0,0,1,1,1,1,1,1,0,0,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,0,1,1,1,1,1,1,0},
+                {0,1,1,1,0,0,0,0,1,0},
+                {1,1,2,0,3,1,1,0,1,1},
+                {1,2,2,3,0,3,0,0,4,1},
+                {1,2,2,0,3,0,3,0,1,1},
+                {1,1,1,1,1,1,0,0,1,0},
+                {0,0,0,0,0,1,1,1,1,0}
         });
 
         // 关卡 9
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,1,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,1,0,0,1,1,0,0,0,1,0,0,0,0},
-                {0,0,0,1,0,0,0,3,0,0,0,1,0,0,0,0},
-                {0,0,0,1,3,0,1,1,1,0,3,1,0,0,0,0},
-                {0,0,0,1,0,1,2,2,2,1,0,1,0,0,0,0},
-                {0,0,1,1,0,1,2,2,2,1,0,1,1,0,0,0},
-                {0,0,1,0,3,0,0,3,0,0,3,0,1,0,0,0},
-                {0,0,1,0,0,0,0,0,1,0,4,0,1,0,0,0},
-                {0,0,1,1,1,1,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,1,1,1,1,1,0},
+                {0,1,0,0,1,1,0,0,0,1,0},
+                {0,1,0,0,0,3,0,0,0,1,0},
+                {0,1,3,0,1,1,1,0,3,1,0},
+                {0,1,0,1,2,2,2,1,0,1,0},
+                {1,1,0,1,2,2,2,1,0,1,1},
+                {1,0,3,0,0,3,0,0,3,0,1},
+                {1,0,0,0,0,0,1,0,4,0,1},
+                {1,1,1,1,1,1,1,1,1,1,1}
         });
 
         // 关卡 10
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,1,0,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,3,3,3,0,1,0,0,0,0},
-                {0,0,0,0,1,4,0,3,2,2,0,1,0,0,0,0},
-                {0,0,0,0,1,0,3,2,2,2,1,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,0,0,1,0,0,0,0,0},
-                {0,0,0,0,0,0,0,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,1,1,1},
+                {0,0,1,0,0,0,0,1},
+                {1,1,1,3,3,3,0,1},
+                {1,4,0,3,2,2,0,1},
+                {1,0,3,2,2,2,1,1},
+                {1,1,1,1,0,0,1,0},
+                {0,0,0,1,1,1,1,0}
         });
 
         // 关卡 11
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,1,1,1,1,0,0,1,1,1,1,1,0,0},
-                {0,0,1,1,0,0,1,0,0,1,0,0,0,1,0,0},
-                {0,0,1,0,3,0,1,1,1,1,3,0,0,1,0,0},
-                {0,0,1,0,0,3,2,2,2,2,0,3,0,1,0,0},
-                {0,0,1,1,0,0,0,0,1,0,4,0,1,1,0,0},
-                {0,0,0,1,1,1,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,0,0,1,1,1,1,1},
+                {1,1,0,0,1,0,0,1,0,0,0,1},
+                {1,0,3,0,1,1,1,1,3,0,0,1},
+                {1,0,0,3,2,2,2,2,0,3,0,1},
+                {1,1,0,0,0,0,1,0,4,0,1,1},
+                {0,1,1,1,1,1,1,1,1,1,1,0}
         });
 
         // 关卡 12
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,1,1,1,0,0,4,1,0,0,0,0,0},
-                {0,0,0,0,1,0,0,3,2,0,1,1,0,0,0,0},
-                {0,0,0,0,1,0,0,2,3,2,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,0,5,3,0,1,0,0,0,0},
-                {0,0,0,0,0,0,1,0,0,0,1,1,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,1,1,0},
+                {1,1,1,0,0,4,1,0},
+                {1,0,0,3,2,0,1,1},
+                {1,0,0,2,3,2,0,1},
+                {1,1,1,0,5,3,0,1},
+                {0,0,1,0,0,0,1,1},
+                {0,0,1,1,1,1,1,0}
         });
 
         // 关卡 13
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,2,2,1,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,0,2,1,1,0,0,0,0,0},
-                {0,0,0,0,0,1,0,0,3,2,1,0,0,0,0,0},
-                {0,0,0,0,1,1,0,3,0,0,1,1,0,0,0,0},
-                {0,0,0,0,1,0,0,1,3,3,0,1,0,0,0,0},
-                {0,0,0,0,1,0,0,4,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,1,0,0},
+                {0,0,1,2,2,1,0,0},
+                {0,1,1,0,2,1,1,0},
+                {0,1,0,0,3,2,1,0},
+                {1,1,0,3,0,0,1,1},
+                {1,0,0,1,3,3,0,1},
+                {1,0,0,4,0,0,0,1},
+                {1,1,1,1,1,1,1,1}
         });
 
         // 关卡 14
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,1,0,0,1,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,0,3,2,2,3,0,1,0,0,0,0},
-                {0,0,0,0,1,4,3,2,5,0,1,1,0,0,0,0},
-                {0,0,0,0,1,0,3,2,2,3,0,1,0,0,0,0},
-                {0,0,0,0,1,0,0,1,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {1,1,1,1,1,1,1,1},
+                {1,0,0,1,0,0,0,1},
+                {1,0,3,2,2,3,0,1},
+                {1,4,3,2,5,0,1,1},
+                {1,0,3,2,2,3,0,1},
+                {1,0,0,1,0,0,0,1},
+                {1,1,1,1,1,1,1,1}
         });
 
         // 关卡 15
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,1,1,0,0,0,0,1,1,0,0,0,0},
-                {0,0,0,0,1,0,3,0,3,3,0,1,0,0,0,0},
-                {0,0,0,0,1,2,2,2,2,2,2,1,0,0,0,0},
-                {0,0,0,0,1,0,3,3,0,3,0,1,0,0,0,0},
-                {0,0,0,0,1,1,1,0,4,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,1,1,0},
+                {1,1,0,0,0,0,1,1},
+                {1,0,3,0,3,3,0,1},
+                {1,2,2,2,2,2,2,1},
+                {1,0,3,3,0,3,0,1},
+                {1,1,1,0,4,1,1,1},
+                {0,0,1,1,1,1,0,0}
         });
 
         // 关卡 16
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,0,1,0,0,0,0,1,1,1,0,0,0},
-                {0,0,0,0,0,1,0,3,0,0,0,0,1,0,0,0},
-                {0,0,0,1,1,1,0,3,0,1,1,0,1,0,0,0},
-                {0,0,0,1,2,2,2,0,3,0,0,0,1,0,0,0},
-                {0,0,0,1,2,2,2,3,1,3,0,1,1,0,0,0},
-                {0,0,0,1,1,1,1,0,1,0,3,0,1,0,0,0},
-                {0,0,0,0,0,0,1,0,0,4,0,0,1,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,1,1,1,0,0},
+                {0,0,1,0,0,0,0,1,1,1},
+                {0,0,1,0,3,0,0,0,0,1},
+                {1,1,1,0,3,0,1,1,0,1},
+                {1,2,2,2,0,3,0,0,0,1},
+                {1,2,2,2,3,1,3,0,1,1},
+                {1,1,1,1,0,1,0,3,0,1},
+                {0,0,0,1,0,0,4,0,0,1},
+                {0,0,0,1,1,1,1,1,1,1}
         });
 
         // 关卡 17
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,0,0,0,0,0,0},
-                {0,0,0,0,1,0,0,0,0,1,0,0,0,0,0,0},
-                {0,0,0,0,1,0,3,3,3,1,1,0,0,0,0,0},
-                {0,0,0,0,1,0,0,1,2,2,1,1,1,0,0,0},
-                {0,0,0,0,1,1,0,0,2,2,3,0,1,0,0,0},
-                {0,0,0,0,0,1,0,4,0,0,0,0,1,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {1,1,1,1,1,1,0,0,0},
+                {1,0,0,0,0,1,0,0,0},
+                {1,0,3,3,3,1,1,0,0},
+                {1,0,0,1,2,2,1,1,1},
+                {1,1,0,0,2,2,3,0,1},
+                {0,1,0,4,0,0,0,0,1},
+                {0,1,1,1,1,1,1,1,1}
         });
 
         // 关卡 18
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,1,0,0,0,1,2,0,1,0,0,0},
-                {0,0,0,0,1,1,0,0,3,2,2,2,1,0,0,0},
-                {0,0,0,0,1,0,0,3,0,1,5,2,1,0,0,0},
-                {0,0,0,1,1,0,1,1,3,1,0,1,1,0,0,0},
-                {0,0,0,1,0,0,0,3,0,0,3,0,1,0,0,0},
-                {0,0,0,1,0,0,0,1,0,0,0,0,1,0,0,0},
-                {0,0,0,1,1,1,1,1,1,1,4,0,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,1,1,1,1,1,1,1,1},
+                {0,0,1,0,0,0,1,2,0,1},
+                {0,1,1,0,0,3,2,2,2,1},
+                {0,1,0,0,3,0,1,5,2,1},
+                {1,1,0,1,1,3,1,0,1,1},
+                {1,0,0,0,3,0,0,3,0,1},
+                {1,0,0,0,1,0,0,0,0,1},
+                {1,1,1,1,1,1,1,4,0,1},
+                {0,0,0,0,0,0,1,1,1,1}
         });
 
         // 关卡 19
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,1,2,2,2,2,0,1,0,0,0,0,0},
-                {0,0,0,1,1,1,2,2,2,3,1,1,1,0,0,0},
-                {0,0,0,1,0,0,3,1,3,0,3,0,1,0,0,0},
-                {0,0,0,1,0,3,3,0,0,1,3,0,1,0,0,0},
-                {0,0,0,1,0,0,0,0,1,0,0,0,1,0,0,0},
-                {0,0,0,1,1,1,1,0,4,0,1,1,1,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,1,1,1,1,1,1,1,0,0},
+                {0,1,2,2,2,2,0,1,0,0},
+                {1,1,1,2,2,2,3,1,1,1},
+                {1,0,0,3,1,3,0,3,0,1},
+                {1,0,3,3,0,0,1,3,0,1},
+                {1,0,0,0,0,1,0,0,0,1},
+                {1,1,1,1,0,4,0,1,1,1},
+                {0,0,0,1,1,1,1,1,0,0}
         });
 
         // 关卡 20
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,1,2,2,3,2,2,1,0,0,0,0},
-                {0,0,0,0,0,1,2,2,1,2,2,1,0,0,0,0},
-                {0,0,0,0,0,1,0,3,3,3,0,1,0,0,0,0},
-                {0,0,0,0,0,1,0,0,3,0,0,1,0,0,0,0},
-                {0,0,0,0,0,1,0,3,3,3,0,1,0,0,0,0},
-                {0,0,0,0,0,1,0,0,1,4,0,1,0,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {1,1,1,1,1,1,1},
+                {1,2,2,3,2,2,1},
+                {1,2,2,1,2,2,1},
+                {1,0,3,3,3,0,1},
+                {1,0,0,3,0,0,1},
+                {1,0,3,3,3,0,1},
+                {1,0,0,1,4,0,1},
+                {1,1,1,1,1,1,1}
         });
 
         // 关卡 21
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,0,0,1,0,2,2,2,1,0,0,0,0},
-                {0,0,0,1,1,1,1,2,2,2,2,1,0,0,0,0},
-                {0,0,0,1,0,0,1,1,1,3,0,1,1,1,0,0},
-                {0,0,0,1,0,3,0,3,0,0,3,3,0,1,0,0},
-                {0,0,0,1,4,0,3,0,3,0,0,0,0,1,0,0},
-                {0,0,0,1,0,0,0,1,1,1,0,0,0,1,0,0},
-                {0,0,0,1,1,1,1,1,0,1,1,1,1,1,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {0,0,0,1,1,1,1,1,1,0,0},
+                {0,0,0,1,0,2,2,2,1,0,0},
+                {1,1,1,1,2,2,2,2,1,0,0},
+                {1,0,0,1,1,1,3,0,1,1,1},
+                {1,0,3,0,3,0,0,3,3,0,1},
+                {1,4,0,3,0,3,0,0,0,0,1},
+                {1,0,0,0,1,1,1,0,0,0,1},
+                {1,1,1,1,1,0,1,1,1,1,1}
         });
 
         // 关卡 22
         levels.add(new int[][]{
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,1,1,1,1,1,1,1,1,0,0,0,0},
-                {0,0,0,0,1,0,0,0,0,0,0,1,0,0,0,0},
-                {0,0,0,0,1,0,1,3,3,0,0,1,0,0,0,0},
-                {0,0,0,0,1,0,2,2,2,1,0,1,0,0,0,0},
-                {0,0,0,0,1,1,2,2,2,3,0,1,1,0,0,0},
-                {0,0,0,0,0,1,0,1,1,0,3,0,1,0,0,0},
-                {0,0,0,0,0,1,3,0,0,3,0,0,1,0,0,0},
-                {0,0,0,0,0,1,0,0,1,0,0,4,1,0,0,0},
-                {0,0,0,0,0,1,1,1,1,1,1,1,1,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0}
+                {1,1,1,1,1,1,1,1,0},
+                {1,0,0,0,0,0,0,1,0},
+                {1,0,1,3,3,0,0,1,0},
+                {1,0,2,2,2,1,0,1,0},
+                {1,1,2,2,2,3,0,1,1},
+                {0,1,0,1,1,0,3,0,1},
+                {0,1,3,0,0,3,0,0,1},
+                {0,1,0,0,1,0,0,4,1},
+                {0,1,1,1,1,1,1,1,1}
         });
 
         return levels;
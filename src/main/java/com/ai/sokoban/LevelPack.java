@@ -0,0 +1,185 @@
+package com.ai.sokoban;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 外部关卡包(XSB/SOK文本格式)。
+ * 【职责】: 打开时只流式扫描一遍文件，记录每个关卡在文件中的字节偏移和长度；
+ * 具体关卡在get()时才从文件中读取并解析，因此包含上千关的关卡包也能立即打开。
+ * 1. 支持的字符: # 墙, 空格/-/_ 空地, $ 箱子, . 目标, @ 玩家, * 目标上的箱子, + 目标上的玩家。
+ * 2. 支持SOK的行程编码(如 "4#" 表示 "####")以及用 | 分隔的行。
+ * 3. 解析结果为LevelData格式的int[][]，其中6表示站在目标上的玩家。
+ */
+public class LevelPack extends AbstractList<int[][]> implements RandomAccess {
+
+    private final Path file;
+    private final long[] offsets;
+    private final int[] lengths;
+
+    private LevelPack(Path file, long[] offsets, int[] lengths) {
+        this.file = file;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * 打开关卡包并建立关卡偏移索引，不解析任何关卡。
+     * @param file XSB/SOK文本文件。
+     * @throws IOException 读取文件失败时抛出。
+     */
+    public static LevelPack open(Path file) throws IOException {
+        long[] offsets = new long[64];
+        int[] lengths = new int[64];
+        int count = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            long position = 0;
+            long lineStart = 0;
+            long levelStart = -1;
+            long levelEnd = -1;
+            boolean lineIsBoard = true;
+            boolean lineHasWall = false;
+            int b;
+            while (true) {
+                b = in.read();
+                if (b == '\n' || b == -1) {
+                    boolean board = lineIsBoard && lineHasWall;
+                    if (board) {
+                        if (levelStart < 0) levelStart = lineStart;
+                        levelEnd = position;
+                    } else if (levelStart >= 0) {
+                        if (count == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, count * 2);
+                            lengths = Arrays.copyOf(lengths, count * 2);
+                        }
+                        offsets[count] = levelStart;
+                        lengths[count] = (int) (levelEnd - levelStart);
+                        count++;
+                        levelStart = -1;
+                    }
+                    if (b == -1) break;
+                    position++;
+                    lineStart = position;
+                    lineIsBoard = true;
+                    lineHasWall = false;
+                    continue;
+                }
+                position++;
+                if (b == '#') {
+                    lineHasWall = true;
+                } else if (b != '\r' && !isBoardChar(b)) {
+                    lineIsBoard = false;
+                }
+            }
+            if (levelStart >= 0) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count + 1);
+                    lengths = Arrays.copyOf(lengths, count + 1);
+                }
+                offsets[count] = levelStart;
+                lengths[count] = (int) (levelEnd - levelStart);
+                count++;
+            }
+        }
+        return new LevelPack(file, Arrays.copyOf(offsets, count), Arrays.copyOf(lengths, count));
+    }
+
+    private static boolean isBoardChar(int b) {
+        switch (b) {
+            case ' ': case '-': case '_': case '\t':
+            case '$': case '.': case '@': case '*': case '+': case '|':
+                return true;
+            default:
+                return b >= '0' && b <= '9';
+        }
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * 从文件中读取并解析指定关卡。
+     * @throws IllegalStateException 读取文件失败时抛出。
+     */
+    @Override
+    public int[][] get(int index) {
+        if (index < 0 || index >= offsets.length) {
+            throw new IndexOutOfBoundsException("关卡索引越界: " + index);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[index]);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = offsets[index];
+            while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+                // 继续读取直到读满
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取关卡失败: " + file + " #" + (index + 1), e);
+        }
+        return parseLevel(buffer.array(), buffer.position());
+    }
+
+    /**
+     * 把一个关卡的XSB文本解析为LevelData格式的网格。
+     */
+    static int[][] parseLevel(byte[] text, int length) {
+        List<int[]> rows = new ArrayList<>();
+        int[] row = new int[32];
+        int width = 0;
+        int rowLength = 0;
+        int repeat = 0;
+        for (int i = 0; i <= length; i++) {
+            int b = i < length ? text[i] : '\n';
+            if (b == '\r') continue;
+            if (b >= '0' && b <= '9') {
+                repeat = repeat * 10 + (b - '0');
+                continue;
+            }
+            if (b == '\n' || b == '|') {
+                rows.add(Arrays.copyOf(row, rowLength));
+                width = Math.max(width, rowLength);
+                rowLength = 0;
+                repeat = 0;
+                continue;
+            }
+            int tile = tileFor(b);
+            for (int n = Math.max(1, repeat); n > 0; n--) {
+                if (rowLength == row.length) row = Arrays.copyOf(row, row.length * 2);
+                row[rowLength++] = tile;
+            }
+            repeat = 0;
+        }
+
+        int[][] level = new int[rows.size()][width];
+        for (int r = 0; r < rows.size(); r++) {
+            int[] src = rows.get(r);
+            System.arraycopy(src, 0, level[r], 0, src.length);
+        }
+        return level;
+    }
+
+    private static int tileFor(int b) {
+        switch (b) {
+            case '#': return 1;
+            case '.': return 2;
+            case '$': return 3;
+            case '@': return 4;
+            case '*': return 5;
+            case '+': return 6;
+            default:  return 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ai.sokoban;
+
+/**
+ * 增量式的撤销/重做日志。
+ * 【职责】: 每一步只记录玩家起点、移动方向和是否推动了箱子，全部打包在一个int里，
+ * 存放于可扩容的int数组中；撤销、重做都只修改地图上的两三个格子。
+ * 1. 游标(cursor)左侧是已执行的步，右侧是可重做的步。
+ * 2. 记录新的一步时会丢弃游标右侧的重做记录。
+ * 3. 宏移动(一次点击产生的多步)中除第一步外都带有"接续"标记，引擎据此把整组步作为一次撤销/重做。
+ */
+public final class MoveJournal {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    // 打包格式: 接续标记(1位) | row(12位) | col(12位) | 方向(2位) | 是否推箱子(1位)
+    private static final int PUSH_BIT = 1;
+    private static final int CHAINED_BIT = 1 << 27;
+    private static final int DIR_SHIFT = 1;
+    private static final int COL_SHIFT = 3;
+    private static final int ROW_SHIFT = 15;
+    private static final int COORD_MASK = 0xFFF;
+
+    private int[] entries = new int[64];
+    private int size = 0;
+    private int cursor = 0;
+
+    /**
+     * 清空日志，不释放已分配的数组，供下一关复用。
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+
+    /**
+     * 记录一步已经在地图上完成的移动。
+     * @param playerRow 移动前玩家所在行。
+     * @param playerCol 移动前玩家所在列。
+     * @param direction 方向索引 (0上, 1下, 2左, 3右)。
+     * @param pushed 这一步是否推动了箱子。
+     */
+    public void record(int playerRow, int playerCol, int direction, boolean pushed) {
+        record(playerRow, playerCol, direction, pushed, false);
+    }
+
+    /**
+     * 记录一步移动。
+     * @param chained 是否与上一步属于同一次宏移动。
+     */
+    public void record(int playerRow, int playerCol, int direction, boolean pushed, boolean chained) {
+        if (cursor == entries.length) {
+            int[] grown = new int[entries.length * 2];
+            System.arraycopy(entries, 0, grown, 0, cursor);
+            entries = grown;
+        }
+        entries[cursor++] = (playerRow << ROW_SHIFT) | (playerCol << COL_SHIFT)
+                | (direction << DIR_SHIFT) | (pushed ? PUSH_BIT : 0) | (chained ? CHAINED_BIT : 0);
+        size = cursor;
+    }
+
+    /**
+     * 撤销游标左侧的一步。
+     * @param map 动态对象地图 (2玩家, 3箱子)，会被就地修改。
+     * @return 被撤销那一步的打包记录；没有可撤销的步时返回-1。
+     */
+    public int undo(int[][] map) {
+        if (cursor == 0) return -1;
+        int entry = entries[--cursor];
+        int row = rowOf(entry), col = colOf(entry);
+        int dir = directionOf(entry);
+        int nextRow = row + DR[dir], nextCol = col + DC[dir];
+        if (isPush(entry)) {
+            map[nextRow + DR[dir]][nextCol + DC[dir]] = 0;
+            map[nextRow][nextCol] = 3;
+        } else {
+            map[nextRow][nextCol] = 0;
+        }
+        map[row][col] = 2;
+        return entry;
+    }
+
+    /**
+     * 重做游标右侧的一步。
+     * @param map 动态对象地图 (2玩家, 3箱子)，会被就地修改。
+     * @return 被重做那一步的打包记录；没有可重做的步时返回-1。
+     */
+    public int redo(int[][] map) {
+        if (cursor == size) return -1;
+        int entry = entries[cursor++];
+        int row = rowOf(entry), col = colOf(entry);
+        int dir = directionOf(entry);
+        int nextRow = row + DR[dir], nextCol = col + DC[dir];
+        if (isPush(entry)) {
+            map[nextRow + DR[dir]][nextCol + DC[dir]] = 3;
+        }
+        map[row][col] = 0;
+        map[nextRow][nextCol] = 2;
+        return entry;
+    }
+
+    /**
+     * 将游标移动到任意一步，逐步撤销或重做，不需要从头回放。
+     * @param step 目标步数，会被限制在 [0, size] 范围内。
+     * @param map 动态对象地图，会被就地修改。
+     * @return 最后一次撤销或重做的打包记录；游标未移动时返回-1。
+     */
+    public int seek(int step, int[][] map) {
+        int target = Math.max(0, Math.min(step, size));
+        int entry = -1;
+        while (cursor > target) entry = undo(map);
+        while (cursor < target) entry = redo(map);
+        return entry;
+    }
+
+    /** 打包记录中移动前玩家所在的行。 */
+    public static int rowOf(int entry) { return (entry >>> ROW_SHIFT) & COORD_MASK; }
+    /** 打包记录中移动前玩家所在的列。 */
+    public static int colOf(int entry) { return (entry >>> COL_SHIFT) & COORD_MASK; }
+    /** 打包记录中的方向索引 (0上, 1下, 2左, 3右)。 */
+    public static int directionOf(int entry) { return (entry >>> DIR_SHIFT) & 3; }
+    /** 打包记录对应的一步是否推动了箱子。 */
+    public static boolean isPush(int entry) { return (entry & PUSH_BIT) != 0; }
+    /** 打包记录是否与上一步属于同一次宏移动。 */
+    public static boolean isChained(int entry) { return (entry & CHAINED_BIT) != 0; }
+
+    /** 游标右侧下一条可重做的记录是否与上一步属于同一次宏移动。 */
+    public boolean isRedoChained() { return cursor < size && isChained(entries[cursor]); }
+
+    public int getCursor() { return cursor; }
+    public int size() { return size; }
+    public boolean canRedo() { return cursor < size; }
+}
@@ -0,0 +1,107 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 紧凑存储的答案。
+ * 【职责】: 每一步用2位表示(方向序号 0上 1下 2左 3右)，每个long存32步，
+ * 以只读List&lt;KeyCode&gt;的形式提供给GameLogic，读取时才把2位还原为KeyCode。
+ */
+public final class PackedSolution extends AbstractList<KeyCode> implements RandomAccess {
+
+    private static final int MOVES_PER_WORD = 32;
+    private static final KeyCode[] KEYS = {KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT};
+
+    private final long[] words;
+    private final int length;
+
+    PackedSolution(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    /**
+     * 解析答案字符串，U/D/L/R之外的字符(空格、换行)被忽略。
+     */
+    public static PackedSolution parse(CharSequence solutionString) {
+        long[] words = new long[wordsFor(solutionString.length())];
+        int length = 0;
+        for (int i = 0; i < solutionString.length(); i++) {
+            int direction;
+            switch (solutionString.charAt(i)) {
+                case 'U': direction = 0; break;
+                case 'D': direction = 1; break;
+                case 'L': direction = 2; break;
+                case 'R': direction = 3; break;
+                default: continue;
+            }
+            words[length / MOVES_PER_WORD] |= (long) direction << (2 * (length % MOVES_PER_WORD));
+            length++;
+        }
+        return new PackedSolution(shrink(words, length), length);
+    }
+
+    /**
+     * 打包KeyCode列表，非方向键被忽略。
+     */
+    public static PackedSolution of(List<KeyCode> moves) {
+        if (moves instanceof PackedSolution) return (PackedSolution) moves;
+        long[] words = new long[wordsFor(moves.size())];
+        int length = 0;
+        for (KeyCode move : moves) {
+            int direction = indexOf(move);
+            if (direction < 0) continue;
+            words[length / MOVES_PER_WORD] |= (long) direction << (2 * (length % MOVES_PER_WORD));
+            length++;
+        }
+        return new PackedSolution(shrink(words, length), length);
+    }
+
+    static int wordsFor(int moves) {
+        return (moves + MOVES_PER_WORD - 1) / MOVES_PER_WORD;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public KeyCode get(int index) {
+        return KEYS[directionAt(index)];
+    }
+
+    /**
+     * @return 第index步的方向序号 (与Direction.ordinal()一致)。
+     */
+    public int directionAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("步数越界: " + index);
+        }
+        return (int) (words[index / MOVES_PER_WORD] >>> (2 * (index % MOVES_PER_WORD))) & 0b11;
+    }
+
+    /** 供SolutionCache写盘使用的原始数据，调用方只应读取。 */
+    long[] words() {
+        return words;
+    }
+
+    private static int indexOf(KeyCode move) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i] == move) return i;
+        }
+        return -1;
+    }
+
+    private static long[] shrink(long[] words, int length) {
+        int needed = wordsFor(length);
+        if (needed == words.length) return words;
+        long[] result = new long[needed];
+        System.arraycopy(words, 0, result, 0, needed);
+        return result;
+    }
+}
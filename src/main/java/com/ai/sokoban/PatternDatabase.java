@@ -0,0 +1,363 @@
+package com.ai.sokoban;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 箱子对模式数据库(可加性启发函数)。
+ * 【职责】: 对每一对"活"格子(箱子放上去仍可能推到目标的格子)，预先算出只有这两个箱子时，
+ * 把它们推到两个不同目标点所需的最少推动次数(玩家位置放宽为可以瞬移)。
+ * 求解时把所有箱子两两分组，各组的代价相加即为可采纳的下界：
+ * 每次推动只属于一个箱子，去掉其他箱子只会让推动变少。
+ * 1. 代价存为byte数组(三角形下标，255表示无法完成)，用逐层BFS从所有"目标对"反向拉箱子得到。
+ * 2. 每一层的扩展按数组区间拆成Fork/Join任务并行执行。
+ * 3. 只依赖墙和目标点，可按布局哈希缓存到磁盘(~/.sokoban/pdb)，同一布局下次直接读取。
+ *    缓存目录总大小不超过 MAX_CACHE_BYTES，超出时按最后使用时间删除最旧的文件。
+ */
+public final class PatternDatabase {
+
+    /** 条目数上限(每条1字节)，超过时不建立模式数据库。 */
+    public static final int MAX_ENTRIES = 1 << 25;
+    /** 表示该组合无法把两个箱子都推到目标点。 */
+    public static final int UNREACHABLE = 255;
+
+    /** 磁盘缓存目录的总大小上限。 */
+    private static final long MAX_CACHE_BYTES = 256L << 20;
+    private static final int MAGIC = 0x534B5044; // "SKPD"
+    private static final int VERSION = 1;
+    private static final int LEAF_SIZE = 1 << 14;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final long layoutKey;
+    // cellIndex[cell]: 活格子的紧凑编号，其他格子为-1
+    private final int[] cellIndex;
+    private final byte[] costs;
+
+    private PatternDatabase(long layoutKey, int[] cellIndex, byte[] costs) {
+        this.layoutKey = layoutKey;
+        this.cellIndex = cellIndex;
+        this.costs = costs;
+    }
+
+    /**
+     * 优先从磁盘缓存读取，没有时在公共Fork/Join线程池中并行建立并写回缓存。
+     * @return 模式数据库；目标点少于2个或条目数超过上限时返回 null。
+     */
+    public static PatternDatabase cached(Board board) {
+        int[] cellIndex = indexLiveCells(board);
+        long key = layoutKey(board);
+        Path file = Path.of(System.getProperty("user.home"), ".sokoban", "pdb", Long.toHexString(key) + ".pdb");
+        if (Files.isRegularFile(file)) {
+            try {
+                PatternDatabase loaded = load(file, key, cellIndex);
+                if (loaded != null) {
+                    // 修改时间即最后使用时间，供trimCache淘汰
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                    return loaded;
+                }
+            } catch (IOException e) {
+                System.err.println("模式数据库读取失败，将重新建立: " + file);
+            }
+        }
+        PatternDatabase built = build(board, ForkJoinPool.commonPool());
+        if (built != null) {
+            try {
+                built.save(file);
+            } catch (IOException e) {
+                System.err.println("模式数据库保存失败: " + file);
+                return built;
+            }
+            try {
+                trimCache(file.getParent(), file);
+            } catch (IOException e) {
+                System.err.println("模式数据库缓存清理失败: " + e);
+            }
+        }
+        return built;
+    }
+
+    /**
+     * 并行建立模式数据库。
+     * @return 模式数据库；目标点少于2个或条目数超过上限时返回 null。
+     */
+    public static PatternDatabase build(Board board, ForkJoinPool pool) {
+        int[] goals = board.getGoalCells();
+        int[] cellIndex = indexLiveCells(board);
+        int[] cells = liveCells(cellIndex);
+        long entries = (long) cells.length * (cells.length - 1) / 2;
+        if (goals.length < 2 || entries > MAX_ENTRIES) return null;
+
+        byte[] costs = new byte[(int) entries];
+        Arrays.fill(costs, (byte) UNREACHABLE);
+        for (int i = 0; i < goals.length; i++) {
+            for (int j = i + 1; j < goals.length; j++) {
+                costs[pairIndex(cellIndex[goals[i]], cellIndex[goals[j]])] = 0;
+            }
+        }
+        // 逐层反向BFS：第depth层的每个局面把其中一个箱子反向拉一格，未访问过的前驱即为第depth+1层
+        boolean changed = true;
+        for (int depth = 0; changed && depth < UNREACHABLE - 1; depth++) {
+            LayerTask task = new LayerTask(board, cells, cellIndex, costs, depth, 0, costs.length);
+            pool.invoke(task);
+            changed = task.changed;
+        }
+        // 超过一个字节能表示的推动次数时，剩余的UNREACHABLE并不可靠，放弃建立
+        if (changed) return null;
+        return new PatternDatabase(layoutKey(board), cellIndex, costs);
+    }
+
+    /**
+     * 两个箱子分别在cellA、cellB时推到两个不同目标点的最少推动次数。
+     * @return 推动次数；任一格子为死格或无法完成时返回UNREACHABLE。
+     */
+    public int pairCost(int cellA, int cellB) {
+        int a = cellIndex[cellA], b = cellIndex[cellB];
+        if (a < 0 || b < 0 || a == b) return UNREACHABLE;
+        return costs[pairIndex(a, b)] & 0xFF;
+    }
+
+    /**
+     * 把箱子两两分组后求代价之和：贪心地优先选择相对单独距离之和提升最大的一对，
+     * 落单的箱子使用它到最近目标点的距离。任意一种分组方式得到的和都是可采纳的下界。
+     * @param boxes 箱子所在格子。
+     * @param singleCost 每个格子单独推到最近目标点的距离。
+     * @return 下界；存在无法完成的组合时返回 -1。
+     */
+    public int additiveCost(int[] boxes, int[] singleCost) {
+        int n = boxes.length;
+        boolean[] used = new boolean[n];
+        int total = 0;
+        for (int round = 0; round < n / 2; round++) {
+            int bestGain = -1, bestA = -1, bestB = -1, bestCost = 0;
+            for (int a = 0; a < n; a++) {
+                if (used[a]) continue;
+                for (int b = a + 1; b < n; b++) {
+                    if (used[b]) continue;
+                    int cost = pairCost(boxes[a], boxes[b]);
+                    if (cost == UNREACHABLE) return -1;
+                    int gain = cost - singleCost[boxes[a]] - singleCost[boxes[b]];
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestA = a;
+                        bestB = b;
+                        bestCost = cost;
+                    }
+                }
+            }
+            if (bestA < 0) break;
+            used[bestA] = true;
+            used[bestB] = true;
+            total += bestCost;
+        }
+        for (int a = 0; a < n; a++) {
+            if (!used[a]) total += singleCost[boxes[a]];
+        }
+        return total;
+    }
+
+    public int size() {
+        return costs.length;
+    }
+
+    /**
+     * 写入缓存文件：先写入唯一命名的临时文件再原子替换，多个线程同时保存同一布局时互不干扰。
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            // createTempFile只给所有者读写权限(0600)，缓存文件与普通文件一样设为0644
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-r--r--"));
+            } catch (UnsupportedOperationException e) {
+                // 非POSIX文件系统(如Windows)沿用默认权限
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(layoutKey);
+                out.writeInt(costs.length);
+                out.write(costs);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 缓存目录超过 MAX_CACHE_BYTES 时，从最久未使用的.pdb文件开始删除，刚写入的keep不删。
+     */
+    private static void trimCache(Path directory, Path keep) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(path -> path.getFileName().toString().endsWith(".pdb")).forEach(files::add);
+        }
+        long total = 0;
+        long[] sizes = new long[files.size()];
+        FileTime[] times = new FileTime[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            sizes[i] = Files.size(files.get(i));
+            times[i] = Files.getLastModifiedTime(files.get(i));
+            total += sizes[i];
+        }
+        Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> times[i]));
+        for (int i : order) {
+            if (total <= MAX_CACHE_BYTES) break;
+            if (files.get(i).equals(keep)) continue;
+            // 其他进程可能同时删除了同一个文件
+            Files.deleteIfExists(files.get(i));
+            total -= sizes[i];
+        }
+    }
+
+    private static PatternDatabase load(Path file, long key, int[] cellIndex) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != key) return null;
+            int live = liveCells(cellIndex).length;
+            int length = in.readInt();
+            if (length != live * (live - 1) / 2) return null;
+            byte[] costs = new byte[length];
+            in.readFully(costs);
+            return new PatternDatabase(key, cellIndex, costs);
+        }
+    }
+
+    /**
+     * 墙与目标点布局的哈希，作为磁盘缓存的键(箱子和玩家的位置不影响模式数据库)。
+     */
+    private static long layoutKey(Board board) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ board.getRows()) * 0x100000001b3L;
+        hash = (hash ^ board.getCols()) * 0x100000001b3L;
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            int tile = board.isWall(cell) ? 1 : (board.isGoal(cell) ? 2 : 0);
+            hash = (hash ^ tile) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static int[] indexLiveCells(Board board) {
+        DeadlockDetector detector = DeadlockDetector.forBoard(board);
+        int[] cellIndex = new int[board.getCellCount()];
+        int next = 0;
+        for (int cell = 0; cell < cellIndex.length; cell++) {
+            cellIndex[cell] = board.isWall(cell) || detector.isDeadCell(cell) ? -1 : next++;
+        }
+        return cellIndex;
+    }
+
+    private static int[] liveCells(int[] cellIndex) {
+        int count = 0;
+        for (int index : cellIndex) if (index >= 0) count++;
+        int[] cells = new int[count];
+        for (int cell = 0; cell < cellIndex.length; cell++) {
+            if (cellIndex[cell] >= 0) cells[cellIndex[cell]] = cell;
+        }
+        return cells;
+    }
+
+    /** 紧凑编号a、b(a != b)对应的三角形下标。 */
+    private static int pairIndex(int a, int b) {
+        int hi = Math.max(a, b), lo = Math.min(a, b);
+        return hi * (hi - 1) / 2 + lo;
+    }
+
+    /**
+     * BFS的一层：处理下标区间[from, to)中代价为depth的局面，区间过大时二分后并行执行。
+     * 同一前驱可能被两个线程同时写入，但写入的值相同(depth+1)，层与层之间由invoke保证可见性。
+     */
+    private static final class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int[] cells;
+        private final int[] cellIndex;
+        private final byte[] costs;
+        private final int depth;
+        private final int from;
+        private final int to;
+        private boolean changed;
+
+        LayerTask(Board board, int[] cells, int[] cellIndex, byte[] costs, int depth, int from, int to) {
+            this.board = board;
+            this.cells = cells;
+            this.cellIndex = cellIndex;
+            this.costs = costs;
+            this.depth = depth;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                LayerTask left = new LayerTask(board, cells, cellIndex, costs, depth, from, mid);
+                LayerTask right = new LayerTask(board, cells, cellIndex, costs, depth, mid, to);
+                invokeAll(left, right);
+                changed = left.changed || right.changed;
+                return;
+            }
+            // 由三角形下标还原出起始的(hi, lo)，之后顺序递增
+            int hi = (int) ((1 + Math.sqrt(1 + 8.0 * from)) / 2);
+            while (hi * (hi - 1) / 2 > from) hi--;
+            while ((hi + 1) * hi / 2 <= from) hi++;
+            int lo = from - hi * (hi - 1) / 2;
+            for (int index = from; index < to; index++) {
+                if ((costs[index] & 0xFF) == depth) {
+                    changed |= pullBox(cells[hi], cells[lo]);
+                    changed |= pullBox(cells[lo], cells[hi]);
+                }
+                if (++lo == hi) {
+                    hi++;
+                    lo = 0;
+                }
+            }
+        }
+
+        /**
+         * 把box处的箱子向四个方向各反向拉一格(other处的箱子不动)，记录新到达的前驱局面。
+         */
+        private boolean pullBox(int box, int other) {
+            int cols = board.getCols();
+            int r = box / cols, c = box % cols;
+            boolean found = false;
+            for (int d = 0; d < 4; d++) {
+                // 正向推动: 玩家在 r-2DR，箱子从 r-DR 推到 r
+                int br = r - DR[d], bc = c - DC[d];
+                int pr = br - DR[d], pc = bc - DC[d];
+                if (pr < 0 || pr >= board.getRows() || pc < 0 || pc >= cols) continue;
+                int previous = br * cols + bc;
+                int player = pr * cols + pc;
+                if (previous == other || player == other || board.isWall(player)) continue;
+                int previousIndex = cellIndex[previous];
+                if (previousIndex < 0) continue;
+                int pair = pairIndex(previousIndex, cellIndex[other]);
+                if ((costs[pair] & 0xFF) == UNREACHABLE) {
+                    costs[pair] = (byte) (depth + 1);
+                    found = true;
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.ai.sokoban;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 点击推箱子的宏移动规划器。
+ * 【职责】: 在SokobanEngine的当前局面上，求把一个箱子推到指定格子所需推动次数最少的方案，
+ * 并补全每次推动之间玩家的最短行走路径，得到可一次性执行的方向序列。
+ * 1. 搜索状态为(箱子位置, 玩家在箱子哪一侧)，共4 * 格子数个，按推动次数做BFS。
+ * 2. 判断玩家能否绕到箱子另一侧时不做洪水填充：预先用一次Tarjan深度优先搜索求出
+ *    每个格子被箱子占据后，其四个相邻格子分属的连通分量，之后每次判断都是O(1)。
+ * 整体为O(格子数)，100x100的关卡也能在一帧内完成。
+ */
+public final class PushPlanner {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+    // 相邻格子的分量标签：与父节点一侧连通 / 墙或其他箱子 / 玩家到不了
+    private static final int PARENT_SIDE = -1;
+    private static final int BLOCKED = -2;
+    private static final int UNREACHED = -3;
+
+    private final int rows;
+    private final int cols;
+    private final int[][] layout;
+    private final int[][] map;
+    private final int player;
+
+    /**
+     * @param layout 静态布局 (1为墙)。
+     * @param map 动态对象地图 (2玩家, 3箱子)，只读。
+     * @param playerRow 玩家所在行。
+     * @param playerCol 玩家所在列。
+     */
+    public PushPlanner(int[][] layout, int[][] map, int playerRow, int playerCol) {
+        this.layout = layout;
+        this.map = map;
+        this.rows = map.length;
+        this.cols = rows == 0 ? 0 : map[0].length;
+        this.player = playerRow < 0 ? -1 : playerRow * cols + playerCol;
+    }
+
+    /**
+     * 规划玩家走到指定格子的最短路径(不推动任何箱子)。
+     * @return 方向序列；走不到时返回 null。
+     */
+    public List<Direction> planWalk(int targetRow, int targetCol) {
+        if (player < 0 || !inBounds(targetRow, targetCol)) return null;
+        List<Direction> moves = new ArrayList<>();
+        return appendWalk(player, targetRow * cols + targetCol, -1, -1, moves) ? moves : null;
+    }
+
+    /**
+     * 规划把(boxRow, boxCol)上的箱子推到(targetRow, targetCol)的方案，其他箱子视为障碍。
+     * 推动次数相同的多个方案按BFS出队顺序取其一，不保证总步数最少。
+     * @return 推动次数最少的方向序列(含中间的行走)；无法完成时返回 null。
+     */
+    public List<Direction> planPush(int boxRow, int boxCol, int targetRow, int targetCol) {
+        if (player < 0 || !inBounds(boxRow, boxCol) || !inBounds(targetRow, targetCol)) return null;
+        if (map[boxRow][boxCol] != 3) return null;
+        int start = boxRow * cols + boxCol;
+        int target = targetRow * cols + targetCol;
+        if (start == target) return new ArrayList<>();
+        if (!isFree(target, start)) return null;
+
+        int cells = rows * cols;
+        int[] labels = computeSideLabels(start, player);
+
+        // BFS状态: box * 4 + side，side为玩家相对箱子所在的方向
+        int[] previous = new int[cells * 4];
+        Arrays.fill(previous, -2);
+        int[] queue = new int[cells * 4];
+        int head = 0, tail = 0;
+        boolean[] startSide = reachableSides(start, player);
+        for (int side = 0; side < 4; side++) {
+            if (startSide[side]) {
+                previous[start * 4 + side] = -1;
+                queue[tail++] = start * 4 + side;
+            }
+        }
+        int found = -1;
+        while (head < tail && found < 0) {
+            int state = queue[head++];
+            int box = state >> 2, side = state & 3;
+            int sideLabel = labels[box * 4 + side];
+            for (int dir = 0; dir < 4; dir++) {
+                // 向dir推动时玩家需站在箱子的反方向一侧，且与当前所在一侧连通
+                int behindSide = dir ^ 1;
+                if (labels[box * 4 + behindSide] != sideLabel || sideLabel < PARENT_SIDE) continue;
+                int next = neighbor(box, dir);
+                if (next < 0 || !isFree(next, start)) continue;
+                int nextState = next * 4 + behindSide;
+                if (previous[nextState] != -2) continue;
+                previous[nextState] = state;
+                queue[tail++] = nextState;
+                if (next == target) {
+                    found = nextState;
+                    break;
+                }
+            }
+        }
+        if (found < 0) return null;
+
+        List<Integer> path = new ArrayList<>();
+        for (int state = found; previous[state] >= 0; state = previous[state]) path.add(state);
+        Collections.reverse(path);
+
+        List<Direction> moves = new ArrayList<>();
+        int playerCell = player;
+        int box = start;
+        for (int state : path) {
+            int dir = (state & 3) ^ 1;
+            int behind = neighbor(box, dir ^ 1);
+            if (!appendWalk(playerCell, behind, start, box, moves)) return null;
+            moves.add(Direction.fromIndex(dir));
+            playerCell = box;
+            box = state >> 2;
+        }
+        return moves;
+    }
+
+    /**
+     * 以玩家所在格子为根，在"非墙且没有其他箱子"的格子上做一次迭代式Tarjan深度优先搜索，
+     * 为每个格子b的每个相邻格子计算标签：b被箱子占据后，标签相同的相邻格子彼此连通。
+     * @param movingBox 被推动的箱子的初始位置，视为空地。
+     */
+    private int[] computeSideLabels(int movingBox, int root) {
+        int cells = rows * cols;
+        int[] disc = new int[cells];
+        int[] low = new int[cells];
+        int[] last = new int[cells]; // 子树中最大的发现序号
+        int[] parent = new int[cells];
+        int[] nextDir = new int[cells];
+        int[] stack = new int[cells];
+        Arrays.fill(disc, -1);
+
+        int time = 0, top = 0;
+        disc[root] = low[root] = time++;
+        parent[root] = -1;
+        stack[top++] = root;
+        while (top > 0) {
+            int v = stack[top - 1];
+            if (nextDir[v] < 4) {
+                int u = neighbor(v, nextDir[v]++);
+                if (u < 0 || !isFree(u, movingBox)) continue;
+                if (disc[u] < 0) {
+                    parent[u] = v;
+                    disc[u] = low[u] = time++;
+                    stack[top++] = u;
+                } else if (u != parent[v]) {
+                    low[v] = Math.min(low[v], disc[u]);
+                }
+            } else {
+                top--;
+                last[v] = time - 1;
+                if (parent[v] >= 0) low[parent[v]] = Math.min(low[parent[v]], low[v]);
+            }
+        }
+
+        int[] labels = new int[cells * 4];
+        for (int b = 0; b < cells; b++) {
+            for (int k = 0; k < 4; k++) {
+                int u = neighbor(b, k);
+                int label;
+                if (u < 0 || !isFree(u, movingBox)) {
+                    label = BLOCKED;
+                } else if (disc[u] < 0 || disc[b] < 0) {
+                    label = UNREACHED;
+                } else {
+                    label = PARENT_SIDE;
+                    if (disc[u] > disc[b] && disc[u] <= last[b]) {
+                        // u在b的子树中：找到包含u的那个子节点，若该子树无法绕过b回到上方，则自成一个分量
+                        for (int j = 0; j < 4; j++) {
+                            int c = neighbor(b, j);
+                            if (c >= 0 && disc[c] >= 0 && parent[c] == b && disc[c] <= disc[u] && disc[u] <= last[c]) {
+                                if (low[c] >= disc[b]) label = c;
+                                break;
+                            }
+                        }
+                    }
+                }
+                labels[b * 4 + k] = label;
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * 箱子在初始位置时，玩家能走到它的哪几侧。
+     */
+    private boolean[] reachableSides(int box, int player) {
+        boolean[] visited = new boolean[rows * cols];
+        int[] queue = new int[rows * cols];
+        int head = 0, tail = 0;
+        visited[player] = true;
+        queue[tail++] = player;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                int next = neighbor(cell, d);
+                if (next < 0 || visited[next] || next == box || !isFree(next, box)) continue;
+                visited[next] = true;
+                queue[tail++] = next;
+            }
+        }
+        boolean[] sides = new boolean[4];
+        for (int k = 0; k < 4; k++) {
+            int side = neighbor(box, k);
+            sides[k] = side >= 0 && visited[side];
+        }
+        return sides;
+    }
+
+    /**
+     * 用BFS求玩家从from到to的最短路径并追加到moves。
+     * @param movingBoxStart 被推动的箱子的初始位置，视为空地；-1表示没有。
+     * @param movingBox 被推动的箱子当前所在格子，视为障碍；-1表示没有。
+     * @return 能否走到。
+     */
+    private boolean appendWalk(int from, int to, int movingBoxStart, int movingBox, List<Direction> moves) {
+        if (from == to) return true;
+        int[] cameFrom = new int[rows * cols];
+        Arrays.fill(cameFrom, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0, tail = 0;
+        cameFrom[from] = from;
+        queue[tail++] = from;
+        while (head < tail && cameFrom[to] < 0) {
+            int cell = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                int next = neighbor(cell, d);
+                if (next < 0 || cameFrom[next] >= 0 || next == movingBox || !isFree(next, movingBoxStart)) continue;
+                cameFrom[next] = cell;
+                queue[tail++] = next;
+            }
+        }
+        if (cameFrom[to] < 0) return false;
+        List<Direction> walk = new ArrayList<>();
+        for (int cell = to; cell != from; cell = cameFrom[cell]) {
+            walk.add(directionBetween(cameFrom[cell], cell));
+        }
+        Collections.reverse(walk);
+        moves.addAll(walk);
+        return true;
+    }
+
+    /**
+     * 格子是否可通行：不是墙，也没有箱子(被推动的箱子的初始位置movingBoxStart视为空地)。
+     */
+    private boolean isFree(int cell, int movingBoxStart) {
+        int r = cell / cols, c = cell % cols;
+        if (layout[r][c] == 1) return false;
+        return map[r][c] != 3 || cell == movingBoxStart;
+    }
+
+    private int neighbor(int cell, int dir) {
+        int r = cell / cols + DR[dir], c = cell % cols + DC[dir];
+        return inBounds(r, c) ? r * cols + c : -1;
+    }
+
+    private Direction directionBetween(int from, int to) {
+        for (int d = 0; d < 4; d++) {
+            if (neighbor(from, d) == to) return Direction.fromIndex(d);
+        }
+        throw new IllegalStateException("格子不相邻: " + from + " -> " + to);
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ai.sokoban;
+
+import java.util.Arrays;
+
+/**
+ * 玩家可达区域的洪水填充。
+ * 【职责】: 给定墙与箱子位置，标记玩家能走到的所有格子，返回其中编号最小(最靠左上)的格子
+ * 作为玩家位置的规范化表示：同一连通区域内玩家站在哪里，对求解而言都是同一个局面。
+ * 同时可以列出当前所有合法的推动。
+ * 1. 队列与访问标记数组在构造时分配一次，之后每次填充都不再分配内存。
+ * 2. 访问标记使用"代数"：每次填充把代数加一，stamp[cell]等于当前代数即为可达，无需清空数组。
+ * 3. 填充按BFS顺序进行，顺带记录每个可达格子离起点的步数，供按移动次数计代价的搜索使用。
+ * 一个实例只能在一个线程中使用。
+ */
+public final class ReachabilityMap {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Board board;
+    private final int rows;
+    private final int cols;
+    private final int[] stamp;
+    private final int[] queue;
+    private final int[] distance;
+    private final int[] pushes;
+    private int generation;
+
+    public ReachabilityMap(Board board) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.stamp = new int[board.getCellCount()];
+        this.queue = new int[board.getCellCount()];
+        this.distance = new int[board.getCellCount()];
+        this.pushes = new int[4 * board.getCellCount()];
+    }
+
+    /**
+     * 从局面中的玩家位置开始填充。
+     * @return 可达格子中编号最小的一个；局面中没有玩家时返回-1。
+     */
+    public int fill(GameState state) {
+        return fill(state, state.getPlayerCell());
+    }
+
+    /**
+     * 从指定格子开始填充，箱子位置取自state。
+     * @return 可达格子中编号最小的一个；start为负数时返回-1。
+     */
+    public int fill(GameState state, int start) {
+        if (++generation == 0) {
+            // 代数溢出后清空一次标记，避免与很久以前的标记混淆
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        if (start < 0) return -1;
+        int head = 0, tail = 0;
+        stamp[start] = generation;
+        distance[start] = 0;
+        queue[tail++] = start;
+        int min = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            if (cell < min) min = cell;
+            int r = cell / cols, c = cell % cols;
+            int nextDistance = distance[cell] + 1;
+            if (r > 0) tail = visit(cell - cols, nextDistance, state, tail);
+            if (r < rows - 1) tail = visit(cell + cols, nextDistance, state, tail);
+            if (c > 0) tail = visit(cell - 1, nextDistance, state, tail);
+            if (c < cols - 1) tail = visit(cell + 1, nextDistance, state, tail);
+        }
+        return min;
+    }
+
+    private int visit(int next, int nextDistance, GameState state, int tail) {
+        if (stamp[next] == generation || board.isWall(next) || state.hasBox(next)) return tail;
+        stamp[next] = generation;
+        distance[next] = nextDistance;
+        queue[tail] = next;
+        return tail + 1;
+    }
+
+    /**
+     * 最近一次填充中该格子是否可达。
+     */
+    public boolean isReachable(int cell) {
+        return stamp[cell] == generation;
+    }
+
+    /**
+     * 最近一次填充中从起点走到该格子的最少步数。
+     * @return 步数；不可达时返回-1。
+     */
+    public int distanceTo(int cell) {
+        return stamp[cell] == generation ? distance[cell] : -1;
+    }
+
+    /**
+     * 列出最近一次填充的局面中所有合法的推动：玩家能走到箱子后方，且箱子前方不是墙或箱子。
+     * 结果通过pushAt读取，下一次调用collectPushes前有效。
+     * @param state 与最近一次fill相同的局面。
+     * @return 推动的个数。
+     */
+    public int collectPushes(GameState state) {
+        int count = 0;
+        for (int box = state.nextBox(0); box >= 0; box = state.nextBox(box + 1)) {
+            int r = box / cols, c = box % cols;
+            for (int d = 0; d < 4; d++) {
+                int pr = r - DR[d], pc = c - DC[d];
+                int nr = r + DR[d], nc = c + DC[d];
+                if (pr < 0 || pr >= rows || pc < 0 || pc >= cols) continue;
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int to = nr * cols + nc;
+                if (!isReachable(pr * cols + pc) || board.isWall(to) || state.hasBox(to)) continue;
+                pushes[count++] = box << 2 | d;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 第i个合法推动，编码为 箱子格子 * 4 + 方向(0上 1下 2左 3右)。
+     */
+    public int pushAt(int i) {
+        return pushes[i];
+    }
+}
@@ -0,0 +1,373 @@
+package com.ai.sokoban;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 无界面的推箱子游戏引擎。
+ * 【职责】: 实现加载关卡、移动/推箱子、撤销/重做、过关判断等全部规则，不依赖任何JavaFX类，
+ * 可直接用于求解器、性能测试以及服务端的答案回放校验。GameLogic只是它之上的一层界面适配。
+ * 1. 静态布局(getLayout): 0空地, 1墙, 4目标。
+ * 2. 动态对象(getMap): 0无, 2玩家, 3箱子。
+ */
+public class SokobanEngine {
+
+    /** 一次移动的结果。 */
+    public enum MoveResult {
+        /** 被墙或箱子挡住，局面未变。 */
+        BLOCKED,
+        /** 玩家走了一步。 */
+        MOVED,
+        /** 玩家推动了一个箱子。 */
+        PUSHED
+    }
+
+    /**
+     * 格子内容发生变化时的回调，界面层据此只重绘变化的格子。
+     */
+    public interface CellListener {
+        void cellChanged(int row, int col);
+    }
+
+    private static final CellListener NO_LISTENER = (row, col) -> { };
+
+    private int[][] currentMap;
+    private int[][] currentLevelLayout;
+    private final MoveJournal journal = new MoveJournal();
+    private CellListener cellListener = NO_LISTENER;
+
+    // 当前局面的Zobrist哈希，随每步移动增量更新；positionHistory记录每个局面首次出现的步数
+    private ZobristHasher zobrist;
+    private long currentHash;
+    private int zobristCells;
+    private final TranspositionTable positionHistory = new TranspositionTable(4096);
+
+    // 随移动增量维护的玩家位置和目标完成数，使查找玩家与过关判断都是O(1)
+    private int playerRow = -1;
+    private int playerCol = -1;
+    private int goalCount;
+    private int boxesOnGoals;
+
+    private DeadlockDetector deadlockDetector;
+    private int lastPushedBoxRow = -1;
+    private int lastPushedBoxCol = -1;
+
+    public void setCellListener(CellListener listener) {
+        this.cellListener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * 加载关卡并清空历史记录。
+     * 根据LevelData的原始数据，正确分离静态布局（墙、目标）和动态对象（玩家、箱子）。
+     * @param originalLevel LevelData格式的关卡 (0空地, 1墙, 2目标, 3箱子, 4玩家, 5目标上的箱子, 6目标上的玩家)。
+     */
+    public void load(int[][] originalLevel) {
+        int numRows = originalLevel.length;
+        int maxWidth = Arrays.stream(originalLevel).mapToInt(row -> row.length).max().orElse(0);
+        currentLevelLayout = new int[numRows][maxWidth];
+        currentMap = new int[numRows][maxWidth];
+
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < maxWidth; j++) {
+                if (j < originalLevel[i].length) {
+                    int tile = originalLevel[i][j];
+                    if (tile == 5) { // 箱子在目标点上
+                        currentLevelLayout[i][j] = 4; // 静态背景是目标
+                        currentMap[i][j] = 3;         // 动态对象是箱子
+                    } else if (tile == 6) { // 玩家在目标点上
+                        currentLevelLayout[i][j] = 4; // 静态背景是目标
+                        currentMap[i][j] = 2;         // 动态对象是玩家
+                    } else if (tile == 4) { // 玩家
+                        currentLevelLayout[i][j] = 0; // 静态背景是空地
+                        currentMap[i][j] = 2;         // 动态对象是玩家
+                    } else if (tile == 2) { // 目标点
+                        currentLevelLayout[i][j] = 4; // 静态背景是目标
+                        currentMap[i][j] = 0;         // 没有动态对象
+                    } else if (tile == 3) { // 仅箱子
+                        currentLevelLayout[i][j] = 0; // 静态背景是空地
+                        currentMap[i][j] = 3;         // 动态对象是箱子
+                    } else { // 墙(1)或空地(0)
+                        currentLevelLayout[i][j] = tile; // 它们是静态背景
+                        currentMap[i][j] = 0;            // 没有动态对象
+                    }
+                } else {
+                    currentLevelLayout[i][j] = 0;
+                    currentMap[i][j] = 0;
+                }
+            }
+        }
+
+        journal.clear();
+        recountTrackedState();
+        if (zobrist == null || numRows * maxWidth != zobristCells) {
+            zobrist = new ZobristHasher(numRows * maxWidth);
+            zobristCells = numRows * maxWidth;
+        }
+        currentHash = zobrist.hash(currentMap);
+        positionHistory.clear();
+        positionHistory.put(currentHash, 0);
+        deadlockDetector = new DeadlockDetector(currentLevelLayout);
+        lastPushedBoxRow = -1;
+        lastPushedBoxCol = -1;
+    }
+
+    /**
+     * 核心移动逻辑。移动成功时同时写入撤销日志，并丢弃可重做的记录。
+     */
+    public MoveResult move(Direction direction) {
+        return move(direction, false);
+    }
+
+    /**
+     * 依次执行一组移动(宏移动)，整组在撤销日志中作为一次撤销/重做。
+     * 遇到被挡住的一步时停止，已执行的部分仍作为一组保留。
+     * @return 实际执行的步数。
+     */
+    public int moveBatch(List<Direction> moves) {
+        int applied = 0;
+        int pushedRow = -1, pushedCol = -1;
+        for (Direction direction : moves) {
+            if (move(direction, applied > 0) == MoveResult.BLOCKED) break;
+            if (lastPushedBoxRow >= 0) {
+                pushedRow = lastPushedBoxRow;
+                pushedCol = lastPushedBoxCol;
+            }
+            applied++;
+        }
+        // 死局检查只关心整组移动中最后被推动的箱子
+        lastPushedBoxRow = pushedRow;
+        lastPushedBoxCol = pushedCol;
+        return applied;
+    }
+
+    /**
+     * 规划把指定箱子推到目标格子的移动序列：推动次数最少，推动之间的每段行走各自最短；
+     * 推动次数相同的方案之间不比较总步数。
+     * @return 移动序列；箱子无法被推到目标时返回 null。
+     */
+    public List<Direction> planBoxMove(int boxRow, int boxCol, int targetRow, int targetCol) {
+        return new PushPlanner(currentLevelLayout, currentMap, playerRow, playerCol)
+                .planPush(boxRow, boxCol, targetRow, targetCol);
+    }
+
+    /**
+     * 规划玩家不推箱子走到指定格子的最短路径。
+     * @return 移动序列；走不到时返回 null。
+     */
+    public List<Direction> planWalk(int targetRow, int targetCol) {
+        return new PushPlanner(currentLevelLayout, currentMap, playerRow, playerCol)
+                .planWalk(targetRow, targetCol);
+    }
+
+    private MoveResult move(Direction direction, boolean chained) {
+        lastPushedBoxRow = -1;
+        lastPushedBoxCol = -1;
+        if (playerRow < 0) return MoveResult.BLOCKED;
+        int playerRow = this.playerRow, playerCol = this.playerCol;
+        int dRow = direction.getDRow(), dCol = direction.getDCol();
+
+        int targetRow = playerRow + dRow;
+        int targetCol = playerCol + dCol;
+
+        if (!isValid(targetRow, targetCol) || currentLevelLayout[targetRow][targetCol] == 1) return MoveResult.BLOCKED;
+
+        int targetObject = currentMap[targetRow][targetCol];
+        if (targetObject == 0) {
+            moveObject(playerRow, playerCol, targetRow, targetCol, 2);
+            journal.record(playerRow, playerCol, direction.ordinal(), false, chained);
+            return MoveResult.MOVED;
+        } else if (targetObject == 3) {
+            int boxTargetRow = targetRow + dRow;
+            int boxTargetCol = targetCol + dCol;
+            if (isValid(boxTargetRow, boxTargetCol) && currentLevelLayout[boxTargetRow][boxTargetCol] != 1 && currentMap[boxTargetRow][boxTargetCol] == 0) {
+                moveObject(targetRow, targetCol, boxTargetRow, boxTargetCol, 3);
+                moveObject(playerRow, playerCol, targetRow, targetCol, 2);
+                journal.record(playerRow, playerCol, direction.ordinal(), true, chained);
+                lastPushedBoxRow = boxTargetRow;
+                lastPushedBoxCol = boxTargetCol;
+                return MoveResult.PUSHED;
+            }
+        }
+        return MoveResult.BLOCKED;
+    }
+
+    private void moveObject(int oldRow, int oldCol, int newRow, int newCol, int objectId) {
+        currentMap[oldRow][oldCol] = 0;
+        currentMap[newRow][newCol] = objectId;
+        int cols = currentMap[0].length;
+        if (objectId == 3) {
+            boxesOnGoals += goalValue(newRow, newCol) - goalValue(oldRow, oldCol);
+            currentHash ^= zobrist.boxKey(oldRow * cols + oldCol) ^ zobrist.boxKey(newRow * cols + newCol);
+        } else {
+            playerRow = newRow;
+            playerCol = newCol;
+            currentHash ^= zobrist.playerKey(oldRow * cols + oldCol) ^ zobrist.playerKey(newRow * cols + newCol);
+        }
+        cellListener.cellChanged(oldRow, oldCol);
+        cellListener.cellChanged(newRow, newCol);
+    }
+
+    /**
+     * 撤销一步；宏移动整组撤销。
+     * @return 最后被撤销那一步的方向；没有可撤销的步时返回 null。
+     */
+    public Direction undo() {
+        lastPushedBoxRow = -1;
+        int entry = journal.undo(currentMap);
+        Direction direction = applyEntryEffects(entry, true);
+        while (entry >= 0 && MoveJournal.isChained(entry)) {
+            entry = journal.undo(currentMap);
+            direction = applyEntryEffects(entry, true);
+        }
+        return direction;
+    }
+
+    /**
+     * 重做一步；宏移动整组重做。
+     * @return 最后被重做那一步的方向；没有可重做的步时返回 null。
+     */
+    public Direction redo() {
+        lastPushedBoxRow = -1;
+        Direction direction = applyEntryEffects(journal.redo(currentMap), false);
+        while (direction != null && journal.isRedoChained()) {
+            direction = applyEntryEffects(journal.redo(currentMap), false);
+        }
+        return direction;
+    }
+
+    /**
+     * 跳转到历史中的任意一步。
+     * @return 最后一次撤销或重做的方向；未移动时返回 null。
+     */
+    public Direction seek(int step) {
+        lastPushedBoxRow = -1;
+        int from = journal.getCursor();
+        int entry = journal.seek(step, currentMap);
+        if (entry < 0) return null;
+        currentHash = zobrist.hash(currentMap);
+        recountTrackedState();
+        if (Math.abs(journal.getCursor() - from) == 1) {
+            notifyEntryCells(entry);
+        } else {
+            notifyAllCells();
+        }
+        return Direction.fromIndex(MoveJournal.directionOf(entry));
+    }
+
+    /**
+     * 日志撤销/重做一步之后：把涉及的格子(玩家起点、玩家终点、箱子终点)通知给监听者，
+     * 并增量更新局面哈希、玩家位置和目标完成数。异或运算可逆，所以撤销和重做的哈希更新方式相同。
+     * @param undone true表示这一步被撤销，false表示被重做。
+     */
+    private Direction applyEntryEffects(int entry, boolean undone) {
+        if (entry < 0) return null;
+        Direction direction = Direction.fromIndex(MoveJournal.directionOf(entry));
+        int row = MoveJournal.rowOf(entry), col = MoveJournal.colOf(entry);
+        int dRow = direction.getDRow(), dCol = direction.getDCol();
+        int cols = currentMap[0].length;
+        int cell = row * cols + col;
+        int step = dRow * cols + dCol;
+        currentHash ^= zobrist.playerKey(cell) ^ zobrist.playerKey(cell + step);
+        playerRow = undone ? row : row + dRow;
+        playerCol = undone ? col : col + dCol;
+        if (MoveJournal.isPush(entry)) {
+            currentHash ^= zobrist.boxKey(cell + step) ^ zobrist.boxKey(cell + 2 * step);
+            int goalDelta = goalValue(row + 2 * dRow, col + 2 * dCol) - goalValue(row + dRow, col + dCol);
+            boxesOnGoals += undone ? -goalDelta : goalDelta;
+        }
+        notifyEntryCells(entry);
+        return direction;
+    }
+
+    private void notifyEntryCells(int entry) {
+        Direction direction = Direction.fromIndex(MoveJournal.directionOf(entry));
+        int row = MoveJournal.rowOf(entry), col = MoveJournal.colOf(entry);
+        for (int i = 0; i < 3; i++) {
+            if (isValid(row, col)) cellListener.cellChanged(row, col);
+            row += direction.getDRow();
+            col += direction.getDCol();
+        }
+    }
+
+    private void notifyAllCells() {
+        for (int i = 0; i < currentMap.length; i++) {
+            for (int j = 0; j < currentMap[i].length; j++) {
+                cellListener.cellChanged(i, j);
+            }
+        }
+    }
+
+    /**
+     * 所有目标点上都有箱子时过关。
+     */
+    public boolean isSolved() {
+        return boxesOnGoals == goalCount;
+    }
+
+    /**
+     * 上一步如果推动了箱子，检查这次推动是否造成了死局。
+     */
+    public boolean isDeadlockedAfterLastMove() {
+        return lastPushedBoxRow >= 0
+                && deadlockDetector.isDeadlockedAfterPush(currentMap, lastPushedBoxRow, lastPushedBoxCol);
+    }
+
+    /**
+     * 记录当前局面在第几步出现。
+     * @return 当前局面如果在更早的步数出现过，返回那一步；否则返回-1。
+     */
+    public int recordPosition() {
+        int step = journal.getCursor();
+        int firstSeen = positionHistory.get(currentHash, -1);
+        if (firstSeen >= 0 && firstSeen < step) return firstSeen;
+        positionHistory.put(currentHash, step);
+        return -1;
+    }
+
+    /**
+     * @return 玩家所在的 {行, 列}；关卡中没有玩家时返回 null。
+     */
+    public int[] findPlayer() {
+        return playerRow < 0 ? null : new int[]{playerRow, playerCol};
+    }
+
+    /**
+     * 加载关卡或大幅跳转后，扫描一遍地图重新得到玩家位置和目标完成数；单步移动只做增量更新。
+     */
+    private void recountTrackedState() {
+        playerRow = -1;
+        playerCol = -1;
+        goalCount = 0;
+        boxesOnGoals = 0;
+        for (int i = 0; i < currentMap.length; i++) {
+            for (int j = 0; j < currentMap[i].length; j++) {
+                if (currentMap[i][j] == 2) {
+                    playerRow = i;
+                    playerCol = j;
+                }
+                if (currentLevelLayout[i][j] == 4) {
+                    goalCount++;
+                    if (currentMap[i][j] == 3) boxesOnGoals++;
+                }
+            }
+        }
+    }
+
+    private int goalValue(int row, int col) {
+        return currentLevelLayout[row][col] == 4 ? 1 : 0;
+    }
+
+    private boolean isValid(int row, int col) {
+        return row >= 0 && row < currentMap.length && col >= 0 && col < currentMap[row].length;
+    }
+
+    /** 动态对象地图，调用方只应读取。 */
+    public int[][] getMap() { return currentMap; }
+    /** 静态布局，调用方只应读取。 */
+    public int[][] getLayout() { return currentLevelLayout; }
+    /** 当前步数，即撤销日志的游标位置。 */
+    public int getMoveCount() { return journal.getCursor(); }
+    /** 历史记录中的总步数(包括可重做的步)。 */
+    public int getHistorySize() { return journal.size(); }
+    public boolean canRedo() { return journal.canRedo(); }
+}
@@ -0,0 +1,902 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 推箱子自动求解器。
+ * 【职责】: 以LevelData中的原始关卡网格为输入，用A*算法搜索"推箱子"动作序列，
+ * 并将结果展开为玩家的逐步移动(KeyCode列表)，可直接交给GameLogic播放。
+ * 1. 搜索以"推一次箱子"为一步，玩家的行走路径只在还原答案时才计算。
+ * 2. 启发函数为箱子与目标点之间的最小代价匹配(匈牙利算法，推动一个箱子后增量更新)，
+ *    箱子较多时再与箱子对模式数据库的可加下界取较大值。
+ * 3. 推到死格或造成冻结死局的推动直接剪枝。
+ * 4. 另提供基于Fork/Join的并行模式(solveParallel)，用于单线程过慢的大型关卡。
+ * 5. 另提供IDA*模式(solveIdaStar)，内存只与搜索深度成正比，适合内存很小的环境。
+ * 6. 另提供双向搜索模式(solveBidirectional)：从初始局面正向推、从过关局面反向拉，两边在同一局面哈希上相遇。
+ * 7. 另提供移动次数最少模式(solveMoveOptimal)：仍以推动为一步展开，但代价计入每次推动前的行走步数。
+ * 8. 可在其他线程调用cancel()中止搜索，并通过ProgressListener获知搜索进度。
+ */
+public class SokobanSolver {
+
+    /** 单线程搜索模式，见solve(Mode)。 */
+    public enum Mode {
+        /** 默认的A*搜索，答案推动次数最少。 */
+        ASTAR,
+        /** IDA*，内存只与搜索深度成正比。 */
+        IDA_STAR,
+        /** 双向搜索，相遇即返回，长通道关卡中扩展的节点少得多。 */
+        BIDIRECTIONAL,
+        /** A*，答案移动次数(行走加推动)最少，搜索的局面比推动最少模式多。 */
+        MOVE_OPTIMAL,
+        /** 在公共ForkJoinPool上并行扩展节点(solveParallel)，适合单线程过慢的大型关卡。 */
+        PARALLEL;
+
+        /**
+         * 该模式的答案是否保证推动次数最少。答案库只保存并提供这类答案。
+         */
+        public boolean isPushOptimal() {
+            return this == ASTAR || this == IDA_STAR;
+        }
+    }
+
+    /**
+     * 搜索进度回调，在搜索线程上调用。
+     */
+    public interface ProgressListener {
+        /**
+         * @param expandedNodes 已扩展的节点数。
+         * @param depthBound 当前扩展节点的f值，即答案代价(推动次数，移动次数最少模式下为移动次数)的下界。
+         */
+        void progress(int expandedNodes, int depthBound);
+    }
+
+    /** 默认最多扩展的节点数，超过后放弃搜索。 */
+    public static final int DEFAULT_MAX_NODES = 1_000_000;
+    /** 已访问表的最大槽位数，限制搜索的内存占用。 */
+    private static final int MAX_TABLE_SLOTS = 1 << 20;
+    /** 并行模式下每轮为每个线程取出的节点数。 */
+    private static final int PARALLEL_BATCH_PER_THREAD = 32;
+    /** 并行扩展任务拆分到不超过该节点数时直接在当前线程执行。 */
+    private static final int PARALLEL_LEAF_SIZE = 8;
+    /** 每扩展这么多节点报告一次进度(下界提高时也会立即报告)。 */
+    private static final int PROGRESS_INTERVAL = 1 << 12;
+    /** 目标点达到该数量时才使用模式数据库，箱子少时贪心匹配已足够准确。 */
+    private static final int PATTERN_MIN_GOALS = 4;
+    /** IDA*每轮用于剪掉重复局面的固定大小置换表的槽位数，满时淘汰旧条目，内存不随搜索增长。 */
+    private static final int IDA_TABLE_SLOTS = 1 << 16;
+
+    private static final Comparator<Node> NODE_ORDER = (a, b) ->
+            a.f != b.f ? Integer.compare(a.f, b.f) : Integer.compare(a.f - a.g, b.f - b.g);
+
+    private static final int INF = Integer.MAX_VALUE / 4;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+    private static final KeyCode[] KEYS = {KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT};
+
+    private final Board board;
+    private final int rows;
+    private final int cols;
+    private final int[] goals;
+
+    // goalDistances[g][cell]: 不考虑其他箱子时，把cell上的箱子推到第g个目标点所需的最少推动次数
+    private final int[][] goalDistances;
+    private final int[] minGoalDistance;
+    private final ZobristHasher zobrist;
+    private final DeadlockDetector deadlocks;
+    // 箱子数与目标点数不同时两者都为null，启发值退化为0
+    private final AssignmentHeuristic assignment;
+    private final PatternDatabase patterns;
+
+    private int expandedNodes;
+    private ProgressListener progressListener;
+    private volatile boolean cancelled;
+
+    /**
+     * 构造求解器。
+     * @param level LevelData格式的关卡网格 (0空地, 1墙, 2目标, 3箱子, 4玩家, 5目标上的箱子, 6目标上的玩家)。
+     */
+    public SokobanSolver(int[][] level) {
+        this(Board.fromLevel(level), false);
+    }
+
+    /**
+     * @param level LevelData格式的关卡网格。
+     * @param usePatternCache 是否通过 ~/.sokoban/pdb 磁盘缓存读写模式数据库(见PatternDatabase.cached)。
+     *                        游戏中的求解传true；批量求解和基准测试传false，只在内存中建立，不写用户目录。
+     */
+    public SokobanSolver(int[][] level, boolean usePatternCache) {
+        this(Board.fromLevel(level), usePatternCache);
+    }
+
+    /**
+     * 基于已解析的静态布局构造求解器，模式数据库只在内存中建立。
+     */
+    public SokobanSolver(Board board) {
+        this(board, false);
+    }
+
+    /**
+     * 基于已解析的静态布局构造求解器。
+     * @param usePatternCache 是否通过磁盘缓存读写模式数据库。
+     */
+    public SokobanSolver(Board board, boolean usePatternCache) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.goals = board.getGoalCells();
+        this.zobrist = new ZobristHasher(board.getCellCount());
+        this.deadlocks = DeadlockDetector.forBoard(board);
+
+        this.goalDistances = new int[goals.length][];
+        this.minGoalDistance = new int[rows * cols];
+        Arrays.fill(minGoalDistance, INF);
+        for (int g = 0; g < goals.length; g++) {
+            goalDistances[g] = computePullDistances(goals[g]);
+            for (int cell = 0; cell < minGoalDistance.length; cell++) {
+                minGoalDistance[cell] = Math.min(minGoalDistance[cell], goalDistances[g][cell]);
+            }
+        }
+        boolean matchable = board.getInitialState().boxCount() == goals.length;
+        this.assignment = matchable ? new AssignmentHeuristic(goalDistances) : null;
+        if (matchable && goals.length >= PATTERN_MIN_GOALS) {
+            this.patterns = usePatternCache ? PatternDatabase.cached(board) : PatternDatabase.build(board, ForkJoinPool.commonPool());
+        } else {
+            this.patterns = null;
+        }
+    }
+
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * 请求中止搜索，可在任意线程调用；正在进行的solve会尽快返回 null。
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 使用默认的节点上限求解。
+     * @return 玩家移动序列；无解或超出搜索上限时返回 null。
+     */
+    public List<KeyCode> solve() {
+        return solve(DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * 用A*搜索求解当前关卡。
+     * @param maxNodes 最多扩展的节点数。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solve(int maxNodes) {
+        expandedNodes = 0;
+        GameState start = board.getInitialState();
+        if (start.getPlayerCell() < 0) return null;
+        if (board.isSolved(start)) return new ArrayList<>();
+        int startH = heuristic(start);
+        if (startH >= INF) return null;
+
+        PriorityQueue<Node> open = new PriorityQueue<>(NODE_ORDER);
+        TranspositionTable closed = new TranspositionTable((int) Math.min(MAX_TABLE_SLOTS, 2L * maxNodes));
+        open.add(new Node(start, zobrist.hashBoxes(start), null, -1, -1, 0, startH));
+
+        ReachabilityMap reach = new ReachabilityMap(board);
+        List<Node> children = new ArrayList<>();
+        int depthBound = startH;
+        while (!open.isEmpty()) {
+            if (cancelled) return null;
+            Node node = open.poll();
+            int normalized = reach.fill(node.state);
+            // 以箱子哈希 + 规范化玩家位置作为键，已用更少推动到达过的局面不再扩展
+            if (!closed.putIfSmaller(node.boxHash ^ zobrist.playerKey(normalized), node.g)) continue;
+            if (++expandedNodes > maxNodes) return null;
+            if (node.f > depthBound || (expandedNodes & (PROGRESS_INTERVAL - 1)) == 0) {
+                depthBound = Math.max(depthBound, node.f);
+                reportProgress(depthBound);
+            }
+
+            children.clear();
+            Node solved = expand(node, reach, deadlocks, children);
+            if (solved != null) return buildMoves(solved);
+            open.addAll(children);
+        }
+        return null;
+    }
+
+    /**
+     * 使用默认的节点上限以指定模式求解。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solve(Mode mode) {
+        switch (mode) {
+            case IDA_STAR:      return solveIdaStar(DEFAULT_MAX_NODES);
+            case BIDIRECTIONAL: return solveBidirectional(DEFAULT_MAX_NODES);
+            case MOVE_OPTIMAL:  return solveMoveOptimal(DEFAULT_MAX_NODES);
+            case PARALLEL:      return solveParallel(DEFAULT_MAX_NODES, ForkJoinPool.commonPool());
+            default:            return solve(DEFAULT_MAX_NODES);
+        }
+    }
+
+    /**
+     * 移动次数最少模式：A*的代价g为累计移动次数，每次推动的代价是玩家走到箱子后方的最短步数加一。
+     * 推动后玩家的确切位置会影响之后的行走，所以局面键使用玩家的确切格子而不是规范化位置；
+     * 推动次数的下界同样是移动次数的下界，启发函数不变。
+     * 推到过关局面不能立即返回(之后可能找到走路更少的推法)，要等过关节点出队时才是最优。
+     * @param maxNodes 最多扩展的节点数。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solveMoveOptimal(int maxNodes) {
+        expandedNodes = 0;
+        GameState start = board.getInitialState();
+        if (start.getPlayerCell() < 0) return null;
+        if (board.isSolved(start)) return new ArrayList<>();
+        int startH = heuristic(start);
+        if (startH >= INF) return null;
+
+        PriorityQueue<Node> open = new PriorityQueue<>(NODE_ORDER);
+        TranspositionTable closed = new TranspositionTable((int) Math.min(MAX_TABLE_SLOTS, 2L * maxNodes));
+        open.add(new Node(start, zobrist.hashBoxes(start), null, -1, -1, 0, startH));
+
+        ReachabilityMap reach = new ReachabilityMap(board);
+        int depthBound = startH;
+        while (!open.isEmpty()) {
+            if (cancelled) return null;
+            Node node = open.poll();
+            if (!closed.putIfSmaller(node.boxHash ^ zobrist.playerKey(node.state.getPlayerCell()), node.g)) continue;
+            if (board.isSolved(node.state)) return buildMoves(node);
+            if (++expandedNodes > maxNodes) return null;
+            if (node.f > depthBound || (expandedNodes & (PROGRESS_INTERVAL - 1)) == 0) {
+                depthBound = Math.max(depthBound, node.f);
+                reportProgress(depthBound);
+            }
+            reach.fill(node.state);
+            expandByMoves(node, reach, open);
+        }
+        return null;
+    }
+
+    /**
+     * 移动次数最少模式的节点扩展：与expand相同的剪枝，子节点的代价加上走到箱子后方的步数。
+     */
+    private void expandByMoves(Node node, ReachabilityMap reach, PriorityQueue<Node> open) {
+        GameState state = node.state;
+        AssignmentHeuristic.Matching matching = takeMatching(node, assignment);
+        int pushCount = reach.collectPushes(state);
+        for (int i = 0; i < pushCount; i++) {
+            int box = reach.pushAt(i) >>> 2, d = reach.pushAt(i) & 3;
+            int to = box + DR[d] * cols + DC[d];
+            if (deadlocks.isDeadCell(to)) continue;
+
+            GameState child = state.withBoxMoved(box, to, box);
+            if (deadlocks.isFreezeDeadlock(child::hasBox, to)) continue;
+            AssignmentHeuristic.Matching childMatching = matching == null ? null : assignment.afterMove(matching, box, to);
+            int h = board.isSolved(child) ? 0 : heuristicOf(child, childMatching);
+            if (h >= INF) continue;
+            int g = node.g + reach.distanceTo(box - DR[d] * cols - DC[d]) + 1;
+            long childHash = node.boxHash ^ zobrist.boxKey(box) ^ zobrist.boxKey(to);
+            Node childNode = new Node(child, childHash, node, box, d, g, g + h);
+            childNode.matching = childMatching;
+            open.add(childNode);
+        }
+    }
+
+    /**
+     * IDA*模式：以f值上限做深度优先搜索，找不到时把上限提高到本轮超出上限的最小f值再重新搜索。
+     * 只保存当前路径上各层的子节点，不需要开放列表和完整的已访问表。
+     * @param maxNodes 所有轮次合计最多扩展的节点数。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solveIdaStar(int maxNodes) {
+        expandedNodes = 0;
+        GameState start = board.getInitialState();
+        if (start.getPlayerCell() < 0) return null;
+        if (board.isSolved(start)) return new ArrayList<>();
+        int startH = heuristic(start);
+        if (startH >= INF) return null;
+
+        IdaSearch search = new IdaSearch(maxNodes);
+        Node root = new Node(start, zobrist.hashBoxes(start), null, -1, -1, 0, startH);
+        int bound = startH;
+        while (true) {
+            reportProgress(bound);
+            search.seen.clear();
+            search.nextBound = INF;
+            Node solved = search.search(root, bound);
+            if (solved != null) return buildMoves(solved);
+            if (search.aborted || cancelled || search.nextBound >= INF) return null;
+            bound = search.nextBound;
+        }
+    }
+
+    /**
+     * 双向搜索模式：正向从初始局面推箱子，反向从"箱子全在目标点上"的局面拉箱子，
+     * 每次扩展开放列表较小的一侧，某一侧扩展到另一侧已扩展过的局面(箱子哈希 + 规范化玩家位置)时相遇。
+     * 长通道关卡中单向搜索的边界会急剧膨胀，两侧各搜一半深度时边界要小得多。
+     * 相遇即返回，答案不保证推动次数最少。
+     * @param maxNodes 两侧合计最多扩展的节点数。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solveBidirectional(int maxNodes) {
+        expandedNodes = 0;
+        GameState start = board.getInitialState();
+        if (start.getPlayerCell() < 0) return null;
+        if (board.isSolved(start)) return new ArrayList<>();
+        // 反向搜索要求箱子与目标点一一对应
+        if (assignment == null) return solve(maxNodes);
+        int startH = heuristic(start);
+        if (startH >= INF) return null;
+
+        // 反向搜索的启发值：把每个箱子拉回某个初始箱子位置的最小代价匹配
+        int[] startBoxes = boxesOf(start);
+        int[][] returnDistances = new int[startBoxes.length][];
+        for (int i = 0; i < startBoxes.length; i++) {
+            returnDistances[i] = computePushDistancesFrom(startBoxes[i]);
+        }
+        AssignmentHeuristic backwardHeuristic = new AssignmentHeuristic(returnDistances);
+
+        PriorityQueue<Node> forwardOpen = new PriorityQueue<>(NODE_ORDER);
+        PriorityQueue<Node> backwardOpen = new PriorityQueue<>(NODE_ORDER);
+        SeenTable forwardSeen = new SeenTable();
+        SeenTable backwardSeen = new SeenTable();
+        forwardOpen.add(new Node(start, zobrist.hashBoxes(start), null, -1, -1, 0, startH));
+        for (GameState goalState : goalStates()) {
+            int h = backwardHeuristic.solve(boxesOf(goalState)).getCost();
+            if (h < AssignmentHeuristic.INFEASIBLE) {
+                backwardOpen.add(new Node(goalState, zobrist.hashBoxes(goalState), null, -1, -1, 0, h));
+            }
+        }
+
+        ReachabilityMap reach = new ReachabilityMap(board);
+        List<Node> children = new ArrayList<>();
+        while (!forwardOpen.isEmpty() && !backwardOpen.isEmpty()) {
+            if (cancelled) return null;
+            boolean forward = forwardOpen.size() <= backwardOpen.size();
+            Node node = (forward ? forwardOpen : backwardOpen).poll();
+            int normalized = reach.fill(node.state);
+            long key = node.boxHash ^ zobrist.playerKey(normalized);
+            SeenTable seen = forward ? forwardSeen : backwardSeen;
+            Node previous = seen.get(key);
+            if (previous != null && previous.g <= node.g) continue;
+            seen.put(key, node);
+
+            Node other = (forward ? backwardSeen : forwardSeen).get(key);
+            if (other != null) {
+                return forward ? buildMoves(node, other) : buildMoves(other, node);
+            }
+            if (++expandedNodes > maxNodes) return null;
+            if ((expandedNodes & (PROGRESS_INTERVAL - 1)) == 0) reportProgress(node.f);
+
+            children.clear();
+            if (forward) {
+                Node solved = expand(node, reach, deadlocks, children);
+                if (solved != null) return buildMoves(solved);
+                forwardOpen.addAll(children);
+            } else {
+                expandBackward(node, reach, backwardHeuristic, children);
+                backwardOpen.addAll(children);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 所有箱子都在目标点上的局面。目标点把地图分成的每个玩家连通区域各对应一个局面。
+     */
+    private List<GameState> goalStates() {
+        long[] bits = new long[GameState.wordsFor(rows * cols)];
+        for (int goal : goals) bits[goal >>> 6] |= 1L << goal;
+        GameState boxesOnGoals = new GameState(bits, -1);
+
+        List<GameState> states = new ArrayList<>();
+        boolean[] covered = new boolean[rows * cols];
+        ReachabilityMap region = new ReachabilityMap(board);
+        for (int cell = 0; cell < rows * cols; cell++) {
+            if (covered[cell] || board.isWall(cell) || boxesOnGoals.hasBox(cell)) continue;
+            GameState state = boxesOnGoals.withPlayer(cell);
+            region.fill(state);
+            for (int i = 0; i < covered.length; i++) covered[i] |= region.isReachable(i);
+            states.add(state);
+        }
+        return states;
+    }
+
+    /**
+     * 反向扩展：玩家站在箱子旁边并向远离箱子的方向后退一格，把箱子拉过来。
+     * 子节点记录的是与这次拉动互逆的正向推动(推动前箱子所在格子与推动方向)，便于还原答案。
+     */
+    private void expandBackward(Node node, ReachabilityMap reach, AssignmentHeuristic backwardHeuristic, List<Node> children) {
+        GameState state = node.state;
+        AssignmentHeuristic.Matching matching = takeMatching(node, backwardHeuristic);
+        for (int box = state.nextBox(0); box >= 0; box = state.nextBox(box + 1)) {
+            int r = box / cols, c = box % cols;
+            for (int d = 0; d < 4; d++) {
+                int pr = r + DR[d], pc = c + DC[d];
+                int br = pr + DR[d], bc = pc + DC[d];
+                if (!inBounds(br, bc)) continue;
+                int player = pr * cols + pc;
+                int back = br * cols + bc;
+                if (!reach.isReachable(player) || board.isWall(back) || state.hasBox(back)) continue;
+
+                GameState child = state.withBoxMoved(box, player, back);
+                AssignmentHeuristic.Matching childMatching = backwardHeuristic.afterMove(matching, box, player);
+                int h = childMatching.getCost();
+                if (h >= AssignmentHeuristic.INFEASIBLE) continue;
+                long childHash = node.boxHash ^ zobrist.boxKey(box) ^ zobrist.boxKey(player);
+                // 互逆的正向推动：箱子在player处，向d的反方向推回box
+                int pushDir = d ^ 1;
+                Node childNode = new Node(child, childHash, node, player, pushDir, node.g + 1, node.g + 1 + h);
+                childNode.matching = childMatching;
+                children.add(childNode);
+            }
+        }
+    }
+
+    /**
+     * 从from出发正向推箱子，得到箱子能推到的每个格子所需的推动距离(不考虑其他箱子)。
+     */
+    private int[] computePushDistancesFrom(int from) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, INF);
+        dist[from] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / cols, c = cell % cols;
+            for (int d = 0; d < 4; d++) {
+                int pr = r - DR[d], pc = c - DC[d];
+                int nr = r + DR[d], nc = c + DC[d];
+                if (!inBounds(pr, pc) || !inBounds(nr, nc)) continue;
+                int next = nr * cols + nc;
+                if (board.isWall(pr * cols + pc) || board.isWall(next) || dist[next] != INF) continue;
+                dist[next] = dist[cell] + 1;
+                queue.add(next);
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * 并行求解模式，适合单线程搜索过慢的大型关卡。
+     * 每轮从开放列表中取出f值最小的一批节点，拆分成Fork/Join任务并行扩展(空闲线程会窃取其余任务)，
+     * 各线程通过无锁的ConcurrentLongSet共享已访问局面。
+     * @param maxNodes 最多扩展的节点数。
+     * @param pool 执行扩展任务的线程池。
+     * @return 玩家移动序列；无解、超出搜索上限或被取消时返回 null。
+     */
+    public List<KeyCode> solveParallel(int maxNodes, ForkJoinPool pool) {
+        expandedNodes = 0;
+        GameState start = board.getInitialState();
+        if (start.getPlayerCell() < 0) return null;
+        if (board.isSolved(start)) return new ArrayList<>();
+        int startH = heuristic(start);
+        if (startH >= INF) return null;
+
+        PriorityQueue<Node> open = new PriorityQueue<>(NODE_ORDER);
+        open.add(new Node(start, zobrist.hashBoxes(start), null, -1, -1, 0, startH));
+        ParallelSearch search = new ParallelSearch(
+                new ConcurrentLongSet((int) Math.min(MAX_TABLE_SLOTS, 2L * maxNodes)));
+        int batchSize = PARALLEL_BATCH_PER_THREAD * pool.getParallelism();
+
+        List<Node> batch = new ArrayList<>(batchSize);
+        while (!open.isEmpty()) {
+            if (cancelled) return null;
+            batch.clear();
+            while (batch.size() < batchSize && !open.isEmpty()) batch.add(open.poll());
+
+            ExpandResult result = pool.invoke(search.new ExpandTask(batch, 0, batch.size()));
+            expandedNodes = search.expanded.get();
+            if (result.solved != null) return buildMoves(result.solved);
+            if (expandedNodes > maxNodes) return null;
+            reportProgress(batch.get(0).f);
+            open.addAll(result.children);
+        }
+        return null;
+    }
+
+    /**
+     * 扩展一个节点：生成所有合法且不会造成死局的推动，放入children。
+     * @param reach 已对该节点的局面做过fill的可达区域。
+     * @return 如果某个推动直接过关，返回该子节点；否则返回 null。
+     */
+    private Node expand(Node node, ReachabilityMap reach, DeadlockDetector detector, List<Node> children) {
+        GameState state = node.state;
+        AssignmentHeuristic.Matching matching = takeMatching(node, assignment);
+        int pushCount = reach.collectPushes(state);
+        for (int i = 0; i < pushCount; i++) {
+            int box = reach.pushAt(i) >>> 2, d = reach.pushAt(i) & 3;
+            int to = box + DR[d] * cols + DC[d];
+            if (detector.isDeadCell(to)) continue;
+
+            GameState child = state.withBoxMoved(box, to, box);
+            if (detector.isFreezeDeadlock(child::hasBox, to)) continue;
+            long childHash = node.boxHash ^ zobrist.boxKey(box) ^ zobrist.boxKey(to);
+            if (board.isSolved(child)) {
+                return new Node(child, childHash, node, box, d, node.g + 1, node.g + 1);
+            }
+            AssignmentHeuristic.Matching childMatching = matching == null ? null : assignment.afterMove(matching, box, to);
+            int h = heuristicOf(child, childMatching);
+            if (h >= INF) continue;
+            Node childNode = new Node(child, childHash, node, box, d, node.g + 1, node.g + 1 + h);
+            childNode.matching = childMatching;
+            children.add(childNode);
+        }
+        return null;
+    }
+
+    private void reportProgress(int depthBound) {
+        if (progressListener != null) progressListener.progress(expandedNodes, depthBound);
+    }
+
+    /**
+     * 返回最近一次求解扩展的节点数。
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * 从头计算局面的启发值：箱子与目标点的最小代价匹配，再与模式数据库的可加下界取较大值。
+     */
+    private int heuristic(GameState state) {
+        if (assignment == null) return 0;
+        int[] boxes = boxesOf(state);
+        return combineWithPatterns(boxes, assignment.solve(boxes).getCost());
+    }
+
+    /**
+     * 推动一个箱子后子局面的启发值。
+     * @param childMatching 子局面的匹配(由父节点的匹配经afterMove只更新被推动的箱子得到)；不使用匹配时为 null。
+     */
+    private int heuristicOf(GameState child, AssignmentHeuristic.Matching childMatching) {
+        if (childMatching == null) return 0;
+        int matchingCost = childMatching.getCost();
+        if (matchingCost >= AssignmentHeuristic.INFEASIBLE) return INF;
+        return patterns == null ? matchingCost : combineWithPatterns(boxesOf(child), matchingCost);
+    }
+
+    /**
+     * 取出节点生成时保存的匹配供扩展使用，并清空该字段，已扩展的节点不再占用匹配的内存。
+     * 起始局面等没有保存匹配的节点从头计算。
+     * @return 匹配；heuristic为 null(箱子数与目标点数不同)时返回 null。
+     */
+    private AssignmentHeuristic.Matching takeMatching(Node node, AssignmentHeuristic heuristic) {
+        if (heuristic == null) return null;
+        AssignmentHeuristic.Matching matching = node.matching;
+        node.matching = null;
+        return matching != null ? matching : heuristic.solve(boxesOf(node.state));
+    }
+
+    private int combineWithPatterns(int[] boxes, int matchingCost) {
+        if (matchingCost >= AssignmentHeuristic.INFEASIBLE) return INF;
+        if (patterns == null) return matchingCost;
+        int additive = patterns.additiveCost(boxes, minGoalDistance);
+        // 有一对箱子无法同时推到目标点，局面已是死局
+        if (additive < 0) return INF;
+        return Math.max(matchingCost, additive);
+    }
+
+    private static int[] boxesOf(GameState state) {
+        int[] boxes = new int[state.boxCount()];
+        for (int box = state.nextBox(0), i = 0; box >= 0; box = state.nextBox(box + 1), i++) {
+            boxes[i] = box;
+        }
+        return boxes;
+    }
+
+    /**
+     * 从目标点出发反向"拉"箱子，得到每个格子到该目标点的推动距离。
+     */
+    private int[] computePullDistances(int goal) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, INF);
+        dist[goal] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(goal);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / cols, c = cell % cols;
+            for (int d = 0; d < 4; d++) {
+                // 箱子从 (r-DR, c-DC) 被向d方向推到 (r, c)，玩家需站在 (r-2DR, c-2DC)
+                int br = r - DR[d], bc = c - DC[d];
+                int pr = br - DR[d], pc = bc - DC[d];
+                if (!inBounds(pr, pc)) continue;
+                int from = br * cols + bc;
+                if (board.isWall(from) || board.isWall(pr * cols + pc) || dist[from] != INF) continue;
+                dist[from] = dist[cell] + 1;
+                queue.add(from);
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * 将推动序列展开为完整的玩家移动序列（行走路径 + 推动）。
+     */
+    private List<KeyCode> buildMoves(Node goalNode) {
+        return buildMoves(goalNode, null);
+    }
+
+    /**
+     * 双向搜索相遇后还原答案：先走正向路径到相遇局面，再沿反向节点链依次执行与各次拉动互逆的推动。
+     * @param backwardNode 反向搜索中的相遇节点，单向搜索时为 null。
+     */
+    private List<KeyCode> buildMoves(Node forwardNode, Node backwardNode) {
+        List<Node> path = new ArrayList<>();
+        for (Node n = forwardNode; n.parent != null; n = n.parent) path.add(n);
+        Collections.reverse(path);
+
+        List<KeyCode> moves = new ArrayList<>();
+        int player = board.getInitialState().getPlayerCell();
+        for (Node step : path) {
+            player = appendPush(player, step.pushBox, step.pushDir, step.parent.state, moves);
+        }
+        for (Node n = backwardNode; n != null && n.parent != null; n = n.parent) {
+            player = appendPush(player, n.pushBox, n.pushDir, n.state, moves);
+        }
+        return moves;
+    }
+
+    /**
+     * 玩家走到箱子后方并推动一次。
+     * @param before 推动前的局面。
+     * @return 推动后玩家所在的格子。
+     */
+    private int appendPush(int player, int box, int dir, GameState before, List<KeyCode> moves) {
+        int r = box / cols, c = box % cols;
+        int behind = (r - DR[dir]) * cols + (c - DC[dir]);
+        appendWalk(player, behind, before, moves);
+        moves.add(KEYS[dir]);
+        return box;
+    }
+
+    /**
+     * 用BFS计算玩家从from走到to的最短路径，并追加到moves中。
+     */
+    private void appendWalk(int from, int to, GameState state, List<KeyCode> moves) {
+        if (from == to) return;
+        int[] cameFrom = new int[rows * cols];
+        Arrays.fill(cameFrom, -1);
+        cameFrom[from] = from;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty() && cameFrom[to] < 0) {
+            int cell = queue.poll();
+            int r = cell / cols, c = cell % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d], nc = c + DC[d];
+                if (!inBounds(nr, nc)) continue;
+                int next = nr * cols + nc;
+                if (cameFrom[next] >= 0 || board.isWall(next) || state.hasBox(next)) continue;
+                cameFrom[next] = cell;
+                queue.add(next);
+            }
+        }
+        List<KeyCode> walk = new ArrayList<>();
+        for (int cell = to; cell != from; cell = cameFrom[cell]) {
+            int prev = cameFrom[cell];
+            walk.add(directionBetween(prev, cell));
+        }
+        Collections.reverse(walk);
+        moves.addAll(walk);
+    }
+
+    private KeyCode directionBetween(int from, int to) {
+        int diff = to - from;
+        if (diff == -cols) return KeyCode.UP;
+        if (diff == cols) return KeyCode.DOWN;
+        if (diff == -1) return KeyCode.LEFT;
+        return KeyCode.RIGHT;
+    }
+
+    private boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    /**
+     * IDA*一轮搜索的状态。置换表记录本轮以多少推动到达过每个局面，以不少于该推动次数再次到达时剪枝。
+     */
+    private final class IdaSearch {
+        final TranspositionTable seen = new TranspositionTable(IDA_TABLE_SLOTS);
+        final ReachabilityMap reach = new ReachabilityMap(board);
+        final int maxNodes;
+        int nextBound;
+        boolean aborted;
+
+        IdaSearch(int maxNodes) {
+            this.maxNodes = maxNodes;
+        }
+
+        Node search(Node node, int bound) {
+            if (node.f > bound) {
+                nextBound = Math.min(nextBound, node.f);
+                return null;
+            }
+            if (cancelled) return null;
+            int normalized = reach.fill(node.state);
+            if (!seen.putIfSmaller(node.boxHash ^ zobrist.playerKey(normalized), node.g)) return null;
+            if (++expandedNodes > maxNodes) {
+                aborted = true;
+                return null;
+            }
+            if ((expandedNodes & (PROGRESS_INTERVAL - 1)) == 0) reportProgress(bound);
+
+            // reach在递归前已用完，可以被下一层复用
+            List<Node> children = new ArrayList<>();
+            Node solved = expand(node, reach, deadlocks, children);
+            if (solved != null) return solved;
+            children.sort(NODE_ORDER);
+            for (Node child : children) {
+                Node found = search(child, bound);
+                if (found != null) return found;
+                if (aborted || cancelled) return null;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 一次并行求解共享的状态：已访问集合、扩展计数以及每个线程各自的死局检测器和可达区域缓冲。
+     */
+    private final class ParallelSearch {
+        final ConcurrentLongSet visited;
+        final AtomicInteger expanded = new AtomicInteger();
+        final ThreadLocal<DeadlockDetector> detectors = ThreadLocal.withInitial(() -> DeadlockDetector.forBoard(board));
+        final ThreadLocal<ReachabilityMap> reaches = ThreadLocal.withInitial(() -> new ReachabilityMap(board));
+
+        ParallelSearch(ConcurrentLongSet visited) {
+            this.visited = visited;
+        }
+
+        /**
+         * 把一批节点对半拆分后并行扩展。
+         */
+        final class ExpandTask extends RecursiveTask<ExpandResult> {
+            private static final long serialVersionUID = 1L;
+
+            private final List<Node> batch;
+            private final int from;
+            private final int to;
+
+            ExpandTask(List<Node> batch, int from, int to) {
+                this.batch = batch;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected ExpandResult compute() {
+                if (to - from <= PARALLEL_LEAF_SIZE) {
+                    return expandRange();
+                }
+                int mid = (from + to) >>> 1;
+                ExpandTask left = new ExpandTask(batch, from, mid);
+                left.fork();
+                ExpandResult right = new ExpandTask(batch, mid, to).compute();
+                ExpandResult result = left.join();
+                if (result.solved == null) result.solved = right.solved;
+                result.children.addAll(right.children);
+                return result;
+            }
+
+            private ExpandResult expandRange() {
+                ExpandResult result = new ExpandResult();
+                ReachabilityMap reach = reaches.get();
+                DeadlockDetector detector = detectors.get();
+                for (int i = from; i < to && result.solved == null; i++) {
+                    Node node = batch.get(i);
+                    int normalized = reach.fill(node.state);
+                    if (!visited.add(node.boxHash ^ zobrist.playerKey(normalized))) continue;
+                    expanded.incrementAndGet();
+                    result.solved = expand(node, reach, detector, result.children);
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * 双向搜索中一侧已扩展的局面："局面键 -> 节点"。
+     * 开放寻址的long[]键表存放节点在nodes数组中的下标，避免HashMap<Long, Node>的装箱与条目对象；
+     * 两侧都要靠它判断相遇，所以不淘汰条目，装载率超过一半时扩容。
+     */
+    private static final class SeenTable {
+        private long[] keys = new long[1 << 12];
+        private int[] slots = new int[1 << 12];
+        private Node[] nodes = new Node[1 << 11];
+        private int size;
+
+        Node get(long key) {
+            int mask = keys.length - 1;
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                int slot = slots[i];
+                if (slot == 0) return null;
+                if (keys[i] == key) return nodes[slot - 1];
+            }
+        }
+
+        void put(long key, Node node) {
+            int mask = keys.length - 1;
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                int slot = slots[i];
+                if (slot != 0 && keys[i] == key) {
+                    nodes[slot - 1] = node;
+                    return;
+                }
+                if (slot == 0) {
+                    if (size == nodes.length) nodes = Arrays.copyOf(nodes, size * 2);
+                    nodes[size++] = node;
+                    keys[i] = key;
+                    // 槽位中存 下标 + 1，0 表示空槽位
+                    slots[i] = size;
+                    if (size * 2 > keys.length) grow();
+                    return;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = new long[oldKeys.length * 2];
+            slots = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldSlots[j] == 0) continue;
+                int i = indexFor(oldKeys[j], mask);
+                while (slots[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                slots[i] = oldSlots[j];
+            }
+        }
+
+        private static int indexFor(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * 并行扩展一批节点的结果。
+     */
+    private static final class ExpandResult {
+        final List<Node> children = new ArrayList<>();
+        Node solved;
+    }
+
+    /**
+     * 搜索树节点：记录推动后的状态以及产生该节点的推动动作。
+     */
+    private static final class Node {
+        final GameState state;
+        final long boxHash;
+        final Node parent;
+        final int pushBox;
+        final int pushDir;
+        final int g;
+        final int f;
+        // 生成该节点时由父节点的匹配增量得到的匹配，扩展时取出复用(见takeMatching)
+        AssignmentHeuristic.Matching matching;
+
+        Node(GameState state, long boxHash, Node parent, int pushBox, int pushDir, int g, int f) {
+            this.state = state;
+            this.boxHash = boxHash;
+            this.parent = parent;
+            this.pushBox = pushBox;
+            this.pushDir = pushDir;
+            this.g = g;
+            this.f = f;
+        }
+    }
+}
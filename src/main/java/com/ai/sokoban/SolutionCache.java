@@ -0,0 +1,147 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地答案库。
+ * 【职责】: 以关卡布局的64位哈希为键保存求解器算出的答案(PackedSolution，每步2位)，
+ * 同一关卡无论出现在哪个关卡包、第几关，都能命中同一条记录。
+ * 文件采用只追加格式，每存一个答案只在文件尾追加一条记录，不重写整个文件:
+ * 文件头为魔数 "SKBS" 与版本号；每条记录为 关卡哈希(long)、步数(int) 及对应的long数组。
+ * 读取时遇到不完整的末尾记录(如写入时进程被终止)会直接忽略。
+ * 文件格式不符(如由更新版本写入)或记录已损坏时不修改文件，本次运行只在内存中保存答案。
+ */
+public class SolutionCache {
+
+    private static final int MAGIC = 0x534B4253; // "SKBS"
+    private static final int VERSION = 2;
+    /** 单条记录允许的最大步数，超过即视为文件已损坏。 */
+    private static final int MAX_MOVES = 1 << 24;
+
+    // 为null时答案只保存在内存中
+    private final Path file;
+    private final Map<Long, PackedSolution> solutions;
+
+    private SolutionCache(Path file, Map<Long, PackedSolution> solutions) {
+        this.file = file;
+        this.solutions = solutions;
+    }
+
+    /**
+     * 打开用户目录下的默认答案库 (~/.sokoban/solutions.bin)。
+     */
+    public static SolutionCache openDefault() {
+        return open(Path.of(System.getProperty("user.home"), ".sokoban", "solutions.bin"));
+    }
+
+    /**
+     * 读取答案库文件；文件不存在时返回空库，第一次put()时创建文件。
+     * 文件格式不符或已损坏时保留原文件不动，返回只在内存中保存答案的库。
+     */
+    public static SolutionCache open(Path file) {
+        Map<Long, PackedSolution> solutions = new HashMap<>();
+        if (Files.isRegularFile(file) && fileSize(file) > 0) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    System.err.println("答案库格式不符，本次不写入该文件: " + file);
+                    return new SolutionCache(null, solutions);
+                }
+                readRecords(in, solutions);
+            } catch (IOException e) {
+                System.err.println("答案库读取失败，本次不写入该文件: " + file);
+                e.printStackTrace();
+                return new SolutionCache(null, solutions);
+            }
+        }
+        return new SolutionCache(file, solutions);
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void readRecords(DataInputStream in, Map<Long, PackedSolution> solutions) throws IOException {
+        try {
+            while (true) {
+                long key = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > MAX_MOVES) throw new IOException("答案记录长度无效: " + length);
+                long[] words = new long[PackedSolution.wordsFor(length)];
+                for (int w = 0; w < words.length; w++) words[w] = in.readLong();
+                solutions.put(key, new PackedSolution(words, length));
+            }
+        } catch (EOFException e) {
+            // 正常结束，或末尾记录不完整
+        }
+    }
+
+    /**
+     * 计算关卡布局的64位哈希 (FNV-1a，包含行列数与每个格子)，作为答案库的键。
+     */
+    public static long keyOf(int[][] level) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ level.length) * 0x100000001b3L;
+        for (int[] row : level) {
+            hash = (hash ^ (row.length | 0x10000)) * 0x100000001b3L;
+            for (int tile : row) {
+                hash = (hash ^ tile) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return 该关卡的答案；答案库中没有时返回 null。
+     */
+    public synchronized List<KeyCode> get(int[][] level) {
+        return solutions.get(keyOf(level));
+    }
+
+    public synchronized boolean contains(int[][] level) {
+        return solutions.containsKey(keyOf(level));
+    }
+
+    public synchronized int size() {
+        return solutions.size();
+    }
+
+    /**
+     * 保存答案，并立即追加写入答案库文件。
+     */
+    public synchronized void put(int[][] level, List<KeyCode> solution) throws IOException {
+        long key = keyOf(level);
+        PackedSolution packed = PackedSolution.of(solution);
+        solutions.put(key, packed);
+
+        if (file == null) return;
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        boolean newFile = !Files.exists(file) || Files.size(file) == 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            if (newFile) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+            out.writeLong(key);
+            out.writeInt(packed.size());
+            for (long word : packed.words()) out.writeLong(word);
+        }
+    }
+}
@@ -1,17 +1,14 @@
 package com.ai.sokoban;
 
 import javafx.scene.input.KeyCode;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 关卡答案数据存储类。
  * 【职责】: 作为一个静态数据提供者，集中管理所有关卡的答案。
  * 1. 使用字符串存储原始答案，方便编辑和查看。
- * 2. 在类加载时，将所有字符串答案预先解析并缓存为KeyCode列表，提高运行时效率。
+ * 2. 某关答案第一次被请求时才解析，并以每步2位的PackedSolution缓存，类加载时不做任何解析。
  */
 public class SolutionData {
 
@@ -68,43 +65,36 @@ public class SolutionData {
             "ULUULLULLL UURRDURDRR DDDRDDLLUL LDLUUUDDRR RURULDRRDL LLLDLUU"
     );
 
-    // 缓存已解析的答案，避免重复转换
-    private static final List<List<KeyCode>> PARSED_SOLUTIONS = new ArrayList<>();
+    // 缓存已解析的答案，避免重复转换；下标为关卡索引，未解析时为null
+    private static final PackedSolution[] PARSED_SOLUTIONS = new PackedSolution[SOLUTIONS_STR.size()];
 
-    // 静态代码块，在类加载时自动执行一次，用于解析所有字符串答案
-    static {
-        for (String s : SOLUTIONS_STR) {
-            if (s == null) {
-                PARSED_SOLUTIONS.add(null);
-            } else {
-                PARSED_SOLUTIONS.add(parseSolution(s));
-            }
-        }
+    /**
+     * 将代表答案的字符串转换为KeyCode列表。
+     * @param solutionString 包含 U, D, L, R 和空格的字符串，其他字符被忽略
+     * @return 只读的KeyCode指令列表(内部每步占2位)
+     */
+    public static List<KeyCode> parseSolution(String solutionString) {
+        return PackedSolution.parse(solutionString);
     }
 
     /**
-     * 将代表答案的字符串转换为KeyCode列表。
-     * @param solutionString 包含 U, D, L, R 和空格的字符串
-     * @return KeyCode指令列表
+     * 将KeyCode列表转换回答案字符串，格式与SOLUTIONS_STR一致：每10步用空格分隔。
+     * @param moves KeyCode指令列表
+     * @return 由 U, D, L, R 和空格组成的字符串
      */
-    private static List<KeyCode> parseSolution(String solutionString) {
-        // 1. 使用正则表达式移除所有非UDLR的字符（如空格、换行符）
-        // 2. 将干净的字符串分割成单个字符的数组
-        // 3. 使用Stream API将每个字符映射到对应的KeyCode
-        // 4. 过滤掉任何可能产生的null值
-        // 5. 将结果收集到一个列表中
-        return Arrays.stream(solutionString.replaceAll("[^UDLR]", "").split(""))
-                .map(ch -> {
-                    switch (ch) {
-                        case "U": return KeyCode.UP;
-                        case "D": return KeyCode.DOWN;
-                        case "L": return KeyCode.LEFT;
-                        case "R": return KeyCode.RIGHT;
-                        default: return null; // 理论上不会发生
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public static String toSolutionString(List<KeyCode> moves) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < moves.size(); i++) {
+            if (i > 0 && i % 10 == 0) sb.append(' ');
+            switch (moves.get(i)) {
+                case UP:    sb.append('U'); break;
+                case DOWN:  sb.append('D'); break;
+                case LEFT:  sb.append('L'); break;
+                case RIGHT: sb.append('R'); break;
+                default: break;
+            }
+        }
+        return sb.toString();
     }
 
     /**
@@ -112,10 +102,13 @@ public class SolutionData {
      * @param levelIndex 关卡的索引 (从0开始)
      * @return 如果存在解法，则返回 KeyCode 列表；否则返回 null。
      */
-    public static List<KeyCode> getSolution(int levelIndex) {
-        if (levelIndex >= 0 && levelIndex < PARSED_SOLUTIONS.size()) {
-            return PARSED_SOLUTIONS.get(levelIndex);
+    public static synchronized List<KeyCode> getSolution(int levelIndex) {
+        if (levelIndex < 0 || levelIndex >= PARSED_SOLUTIONS.length || SOLUTIONS_STR.get(levelIndex) == null) {
+            return null;
+        }
+        if (PARSED_SOLUTIONS[levelIndex] == null) {
+            PARSED_SOLUTIONS[levelIndex] = PackedSolution.parse(SOLUTIONS_STR.get(levelIndex));
         }
-        return null;
+        return PARSED_SOLUTIONS[levelIndex];
     }
 }
\ No newline at end of file
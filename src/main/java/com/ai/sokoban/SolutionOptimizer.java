@@ -0,0 +1,227 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 答案后处理优化器。
+ * 【职责】: 对已有的移动序列(SolutionData中的预存答案、求解器或答案库中的答案)做后处理，
+ * 在保证仍能过关的前提下缩短答案，使提示播放更快、答案库更小。
+ * 1. 用SokobanEngine回放序列，提取其中的推动序列(撞墙或推不动的步与游戏中一样被忽略)。
+ * 2. 去掉推动序列中的回环：推动若干次后箱子布局回到之前出现过的布局，中间这段推动是多余的。
+ * 3. 相邻两次推动的是不同的箱子时尝试交换顺序，走路更短就保留，反复进行直到不再变短。
+ * 4. 最后把每两次推动之间的行走重写为最短路径。
+ * 每一步改写都只接受不增加移动次数的结果，所以推动次数和移动次数都不会比原答案多；
+ * 原序列不能过关时原样返回。
+ */
+public final class SolutionOptimizer {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+    private static final KeyCode[] KEYS = {KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT};
+
+    private final int[][] level;
+    private final Board board;
+    private final int rows;
+    private final int cols;
+    private final ReachabilityMap reach;
+
+    private SolutionOptimizer(int[][] level) {
+        this.level = level;
+        this.board = Board.fromLevel(level);
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.reach = new ReachabilityMap(board);
+    }
+
+    /**
+     * 优化LevelData格式关卡的答案。
+     * @return 优化后的移动序列；原序列不能过关时返回原序列。
+     */
+    public static List<KeyCode> optimize(int[][] level, List<KeyCode> moves) {
+        if (moves == null) return moves;
+        SolutionOptimizer optimizer = new SolutionOptimizer(level);
+        if (optimizer.board.getInitialState().getPlayerCell() < 0) return moves;
+        int[] pushes = optimizer.extractPushes(moves);
+        if (pushes == null) return moves;
+        pushes = optimizer.removeLoops(pushes);
+        optimizer.reorderPushes(pushes);
+        List<KeyCode> optimized = optimizer.buildMoves(pushes);
+        return optimized != null && optimized.size() <= moves.size() ? optimized : moves;
+    }
+
+    /**
+     * 回放移动序列，提取推动序列。每个推动编码为 推动前箱子所在格子 * 4 + 方向，与ReachabilityMap一致。
+     * @return 推动序列；回放后不能过关时返回 null。
+     */
+    private int[] extractPushes(List<KeyCode> moves) {
+        SokobanEngine engine = new SokobanEngine();
+        engine.load(level);
+        int[] pushes = new int[16];
+        int count = 0;
+        for (KeyCode move : moves) {
+            Direction direction = GameLogic.toDirection(move);
+            if (direction == null) continue;
+            int[] player = engine.findPlayer();
+            if (engine.move(direction) != SokobanEngine.MoveResult.PUSHED) continue;
+            // 推动后玩家站在箱子原来的格子上
+            int box = (player[0] + direction.getDRow()) * cols + player[1] + direction.getDCol();
+            if (count == pushes.length) pushes = Arrays.copyOf(pushes, count * 2);
+            pushes[count++] = box << 2 | direction.ordinal();
+        }
+        return engine.isSolved() ? Arrays.copyOf(pushes, count) : null;
+    }
+
+    /**
+     * 去掉回环：箱子布局在推动i次后与推动j次后相同时，删掉第i到第j-1次推动。
+     * 删掉之后玩家可能到不了下一次推动的位置，所以每次删除都重新验证整段序列。
+     */
+    private int[] removeLoops(int[] pushes) {
+        ZobristHasher zobrist = new ZobristHasher(board.getCellCount());
+        int cost = totalMoves(pushes);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Map<Long, Integer> firstSeen = new HashMap<>();
+            GameState state = board.getInitialState();
+            long hash = zobrist.hashBoxes(state);
+            firstSeen.put(hash, 0);
+            for (int j = 0; j < pushes.length && !changed; j++) {
+                int box = pushes[j] >>> 2, to = step(box, pushes[j] & 3);
+                state = state.withBoxMoved(box, to, box);
+                hash ^= zobrist.boxKey(box) ^ zobrist.boxKey(to);
+                Integer i = firstSeen.putIfAbsent(hash, j + 1);
+                if (i == null) continue;
+                int[] cut = new int[pushes.length - (j + 1 - i)];
+                System.arraycopy(pushes, 0, cut, 0, i);
+                System.arraycopy(pushes, j + 1, cut, i, pushes.length - j - 1);
+                int cutCost = totalMoves(cut);
+                if (cutCost >= 0 && cutCost <= cost) {
+                    pushes = cut;
+                    cost = cutCost;
+                    changed = true;
+                }
+            }
+        }
+        return pushes;
+    }
+
+    /**
+     * 交换相邻的两次推动(推的是不同箱子时)。两次推动之后箱子布局不变，只有玩家位置不同，
+     * 所以只需比较这两次推动及下一次推动前的三段走路。原地修改pushes。
+     */
+    private void reorderPushes(int[] pushes) {
+        int n = pushes.length;
+        GameState[] before = new GameState[n + 1];
+        before[0] = board.getInitialState();
+        for (int k = 0; k < n; k++) before[k + 1] = apply(before[k], pushes[k]);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i + 1 < n; i++) {
+                int first = pushes[i], second = pushes[i + 1];
+                if (second >>> 2 == step(first >>> 2, first & 3)) continue;
+
+                int next = i + 2 < n ? pushes[i + 2] : -1;
+                int original = pushCost(before[i], first) + pushCost(before[i + 1], second)
+                        + (next < 0 ? 0 : pushCost(before[i + 2], next));
+
+                int secondCost = pushCost(before[i], second);
+                if (secondCost < 0) continue;
+                GameState afterSecond = apply(before[i], second);
+                int firstCost = pushCost(afterSecond, first);
+                if (firstCost < 0) continue;
+                GameState afterBoth = apply(afterSecond, first);
+                int nextCost = next < 0 ? 0 : pushCost(afterBoth, next);
+                if (nextCost < 0 || secondCost + firstCost + nextCost >= original) continue;
+
+                pushes[i] = second;
+                pushes[i + 1] = first;
+                before[i + 1] = afterSecond;
+                before[i + 2] = afterBoth;
+                improved = true;
+            }
+        }
+    }
+
+    /**
+     * 按推动序列执行时的总移动次数(每次推动 = 走到箱子后方的最短步数 + 1)。
+     * @return 总移动次数；某次推动无法执行或最终不能过关时返回-1。
+     */
+    private int totalMoves(int[] pushes) {
+        GameState state = board.getInitialState();
+        int total = 0;
+        for (int push : pushes) {
+            int cost = pushCost(state, push);
+            if (cost < 0) return -1;
+            total += cost;
+            state = apply(state, push);
+        }
+        return board.isSolved(state) ? total : -1;
+    }
+
+    /**
+     * 在state中执行一次推动的代价。
+     * @return 走到箱子后方的最短步数 + 1；推动无法执行时返回-1。
+     */
+    private int pushCost(GameState state, int push) {
+        int box = push >>> 2, d = push & 3;
+        int behind = step(box, d ^ 1), to = step(box, d);
+        if (!state.hasBox(box) || behind < 0 || to < 0 || board.isWall(to) || state.hasBox(to)) return -1;
+        reach.fill(state);
+        int distance = reach.distanceTo(behind);
+        return distance < 0 ? -1 : distance + 1;
+    }
+
+    private GameState apply(GameState state, int push) {
+        int box = push >>> 2;
+        return state.withBoxMoved(box, step(box, push & 3), box);
+    }
+
+    /**
+     * 把推动序列展开为移动序列，推动之间的行走沿BFS距离递减的方向回溯得到最短路径。
+     * @return 移动序列；某次推动无法执行时返回 null。
+     */
+    private List<KeyCode> buildMoves(int[] pushes) {
+        List<KeyCode> moves = new ArrayList<>();
+        List<KeyCode> walk = new ArrayList<>();
+        GameState state = board.getInitialState();
+        for (int push : pushes) {
+            if (pushCost(state, push) < 0) return null;
+            int d = push & 3;
+            int cell = step(push >>> 2, d ^ 1);
+            walk.clear();
+            for (int distance = reach.distanceTo(cell); distance > 0; distance--) {
+                for (int back = 0; back < 4; back++) {
+                    int prev = step(cell, back);
+                    if (prev >= 0 && reach.distanceTo(prev) == distance - 1) {
+                        walk.add(KEYS[back ^ 1]);
+                        cell = prev;
+                        break;
+                    }
+                }
+            }
+            Collections.reverse(walk);
+            moves.addAll(walk);
+            moves.add(KEYS[d]);
+            state = apply(state, push);
+        }
+        return moves;
+    }
+
+    /**
+     * 相邻格子的编号。
+     * @return 越界时返回-1。
+     */
+    private int step(int cell, int d) {
+        int r = cell / cols + DR[d], c = cell % cols + DC[d];
+        return r >= 0 && r < rows && c >= 0 && c < cols ? r * cols + c : -1;
+    }
+}
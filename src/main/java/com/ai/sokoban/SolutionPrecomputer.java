@@ -0,0 +1,138 @@
+package com.ai.sokoban;
+
+import javafx.scene.input.KeyCode;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 后台答案预计算服务。
+ * 【职责】: 玩家游戏时，用低优先级的守护线程依次求解答案库中还没有答案的关卡，并写入SolutionCache，
+ * 之后点击"求解"即可直接命中答案库，无需当场搜索。
+ * 从当前关卡往后的关卡优先求解(见prioritize)。每关在本次运行中只尝试一次，求解成功、超出节点上限或出错
+ * 都记为已处理，不再重试；全部处理完后线程等待下一次prioritize，直到stop()。
+ */
+public class SolutionPrecomputer {
+
+    /** 默认后台线程数上限。每个线程同时持有一个完整求解器的开放列表、置换表和模式数据库，不按核数扩展。 */
+    private static final int DEFAULT_THREADS = 2;
+    /** 默认每关的搜索节点上限，比现场求解小，限制后台线程的内存占用；超限的关卡留给现场求解。 */
+    private static final int DEFAULT_MAX_NODES = 200_000;
+
+    private final List<int[][]> levels;
+    private final SolutionCache cache;
+    private final int maxNodes;
+    private final Thread[] workers;
+
+    // 以下字段都由lock保护：下一个要检查的关卡索引、本轮还需检查的关卡数、已处理和正在求解的关卡
+    private final Object lock = new Object();
+    private int nextIndex;
+    private int remaining;
+    private final BitSet processed = new BitSet();
+    private final BitSet inProgress = new BitSet();
+    private volatile boolean stopped;
+
+    /**
+     * @param levels 关卡列表，可以是延迟解析的关卡包。
+     * @param cache 答案库。
+     * @param maxNodes 每关的搜索节点上限，超过时放弃该关，避免后台长时间卡在一个难关上。
+     * @param threads 后台线程数。
+     */
+    public SolutionPrecomputer(List<int[][]> levels, SolutionCache cache, int maxNodes, int threads) {
+        this.levels = levels;
+        this.cache = cache;
+        this.maxNodes = maxNodes;
+        this.workers = new Thread[Math.max(1, threads)];
+    }
+
+    /**
+     * 以默认参数创建：至多两个线程(且留一个核给界面线程)，每关使用较小的节点上限。
+     */
+    public static SolutionPrecomputer withDefaults(List<int[][]> levels, SolutionCache cache) {
+        int threads = Math.max(1, Math.min(DEFAULT_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        return new SolutionPrecomputer(levels, cache, DEFAULT_MAX_NODES, threads);
+    }
+
+    /**
+     * 启动后台线程，从fromIndex开始依次检查所有关卡。
+     */
+    public void start(int fromIndex) {
+        prioritize(fromIndex);
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::run, "solution-precompute-" + i);
+            workers[i].setDaemon(true);
+            workers[i].setPriority(Thread.MIN_PRIORITY);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * 让后台线程接下来从指定关卡开始，往后依次检查所有未处理的关卡。
+     * GameLogic在每次加载关卡时传入玩家的当前关卡，这样玩家接下来要玩的关卡最先有答案。
+     */
+    public void prioritize(int levelIndex) {
+        synchronized (lock) {
+            nextIndex = levelIndex;
+            remaining = levels.size();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 停止后台求解，由GameLogic.shutdown在程序退出时调用。等待中的线程立即退出，
+     * 正在进行的搜索在完成后退出且不再写入答案库。
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            remaining = 0;
+            lock.notifyAll();
+        }
+    }
+
+    private void run() {
+        int index;
+        while ((index = takeNext()) >= 0) {
+            try {
+                int[][] level = levels.get(index);
+                if (cache.contains(level)) continue;
+                List<KeyCode> solution = new SokobanSolver(level, true).solve(maxNodes);
+                if (solution != null && !stopped) cache.put(level, SolutionOptimizer.optimize(level, solution));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("后台求解第 " + (index + 1) + " 关失败: " + e);
+            } finally {
+                synchronized (lock) {
+                    inProgress.clear(index);
+                    processed.set(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * 取下一个既未处理、也没有其他线程在求解的关卡；本轮没有可做的关卡时等待prioritize。
+     * @return 关卡索引；已停止时返回-1。
+     */
+    private int takeNext() {
+        synchronized (lock) {
+            while (!stopped) {
+                while (remaining > 0) {
+                    remaining--;
+                    int index = Math.floorMod(nextIndex++, levels.size());
+                    if (!processed.get(index) && !inProgress.get(index)) {
+                        inProgress.set(index);
+                        return index;
+                    }
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return -1;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ai.sokoban;
+
+import java.util.Arrays;
+
+/**
+ * 以64位哈希为键的置换表。
+ * 【职责】: 用开放寻址的原始类型数组记录"局面哈希 -> int值"(如到达该局面的步数)，
+ * 容量在创建时固定，内存占用有上限。
+ * 1. 每个键最多探测 PROBE_LIMIT 个相邻槽位。
+ * 2. 探测范围内没有空位时，淘汰其中值最大的条目(值越小的局面越有剪枝价值)。
+ */
+public final class TranspositionTable {
+
+    private static final int PROBE_LIMIT = 8;
+    // 0 用于表示空槽位，真实的0键映射为另一个固定值
+    private static final long EMPTY = 0L;
+    private static final long ZERO_KEY = 0x9E3779B97F4A7C15L;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param capacity 期望的槽位数，会向上取整为2的幂。
+     */
+    public TranspositionTable(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(PROBE_LIMIT, capacity - 1)) << 1;
+        this.keys = new long[slots];
+        this.values = new int[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * 查询键对应的值。
+     * @return 存储的值；不存在时返回missingValue。
+     */
+    public int get(long key, int missingValue) {
+        key = normalize(key);
+        int index = indexFor(key);
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (index + i) & mask;
+            if (keys[slot] == key) return values[slot];
+            if (keys[slot] == EMPTY) return missingValue;
+        }
+        return missingValue;
+    }
+
+    /**
+     * 写入或覆盖键对应的值。
+     */
+    public void put(long key, int value) {
+        store(key, value, false);
+    }
+
+    /**
+     * 仅当键不存在或新值更小时写入，常用于"以更少步数到达同一局面"的判断。
+     * @return 是否写入了新值。
+     */
+    public boolean putIfSmaller(long key, int value) {
+        return store(key, value, true);
+    }
+
+    private boolean store(long key, int value, boolean onlyIfSmaller) {
+        key = normalize(key);
+        int index = indexFor(key);
+        int victim = -1;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (index + i) & mask;
+            if (keys[slot] == key) {
+                if (onlyIfSmaller && values[slot] <= value) return false;
+                values[slot] = value;
+                return true;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return true;
+            }
+            if (victim < 0 || values[slot] > values[victim]) victim = slot;
+        }
+        keys[victim] = key;
+        values[victim] = value;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return keys.length; }
+
+    private static long normalize(long key) {
+        return key == EMPTY ? ZERO_KEY : key;
+    }
+
+    private int indexFor(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
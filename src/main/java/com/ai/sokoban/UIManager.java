@@ -2,18 +2,24 @@ package com.ai.sokoban;
 
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -23,6 +29,18 @@ import java.util.stream.IntStream;
  */
 public class UIManager {
 
+    /**
+     * 鼠标点击棋盘格子时的回调。
+     */
+    public interface CellClickHandler {
+        void cellClicked(int row, int col);
+    }
+
+    private static final int TILE_SIZE = 40;
+    private static final int MIN_TILE_SIZE = 8;
+    // 棋盘较长一边的最大像素数，大关卡会缩小格子以放进窗口 (100x100时为每格8像素)
+    private static final int MAX_BOARD_PIXELS = 800;
+
     private final StackPane localRootPane;
     private StackPane externalRootPane;
     private EventHandler<KeyEvent> originalKeyEventHandler;
@@ -37,17 +55,34 @@ public class UIManager {
     private final Button pauseButton;
     private final Button prevStepButton;
     private final Button nextStepButton;
+    private final Slider solutionSlider;
+    // 暂停播放答案时拖动进度条的处理器；程序设置进度条位置时不触发
+    private IntConsumer solutionSeekHandler;
+    private boolean updatingSolutionSlider;
 
     private final Image wallImage, boxImage, goalImage, groundImage, boxOnGoalImage;
     private final Image playerUpImage, playerDownImage, playerLeftImage, playerRightImage;
     private Image currentPlayerImage;
 
+    // GridPane后端中每个格子复用的动态对象节点；启用Canvas后端时为null
+    private ImageView[][] objectViews;
+    private CanvasRenderer canvasRenderer;
+
+    // 等待重绘的格子编号 (row * gridCols + col)
+    private final int[] dirtyCells = new int[32];
+    private int dirtyCount = 0;
+    private boolean fullRedraw = true;
+    private int gridRows = -1;
+    private int gridCols = 0;
+    private int tileSize = TILE_SIZE;
+    private CellClickHandler cellClickHandler;
+
     /**
      * UIManager的构造函数。
      */
     public UIManager(StackPane rootPane, GridPane gameGrid, Label levelLabel, Label movesLabel, Label timeLabel,
                      Button solveButton, Button resetButton, ChoiceBox<Integer> levelChoiceBox,
-                     Button pauseButton, Button prevStepButton, Button nextStepButton) {
+                     Button pauseButton, Button prevStepButton, Button nextStepButton, Slider solutionSlider) {
         this.localRootPane = rootPane;
         this.gameGrid = gameGrid;
         this.levelLabel = levelLabel;
@@ -59,6 +94,12 @@ public class UIManager {
         this.pauseButton = pauseButton;
         this.prevStepButton = prevStepButton;
         this.nextStepButton = nextStepButton;
+        this.solutionSlider = solutionSlider;
+        solutionSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (!updatingSolutionSlider && solutionSeekHandler != null) {
+                solutionSeekHandler.accept((int) Math.round(newValue.doubleValue()));
+            }
+        });
 
         this.wallImage = loadImage("/images/wall.png");
         this.boxImage = loadImage("/images/box.png");
@@ -91,47 +132,160 @@ public class UIManager {
         }
     }
 
-    public void drawMap(int[][] map, int[][] layout) {
-        gameGrid.getChildren().clear();
-        for (int row = 0; row < map.length; row++) {
-            for (int col = 0; col < map[row].length; col++) {
-                ImageView groundView = new ImageView(groundImage);
-                groundView.setFitWidth(40);
-                groundView.setFitHeight(40);
-                gameGrid.add(groundView, col, row);
-
-                int layoutTile = layout[row][col];
-                if (layoutTile == 4) {
-                    ImageView goalView = new ImageView(goalImage);
-                    goalView.setFitWidth(40);
-                    goalView.setFitHeight(40);
-                    gameGrid.add(goalView, col, row);
-                } else if (layoutTile == 1) {
-                    ImageView wallView = new ImageView(wallImage);
-                    wallView.setFitWidth(40);
-                    wallView.setFitHeight(40);
-                    gameGrid.add(wallView, col, row);
-                }
+    /**
+     * 启动时切换到Canvas渲染后端：用一个Canvas替换FXML中的gameGrid。
+     */
+    public void enableCanvasRenderer() {
+        if (canvasRenderer != null) return;
+        canvasRenderer = new CanvasRenderer(new Canvas(), TILE_SIZE,
+                groundImage, wallImage, goalImage, boxImage, boxOnGoalImage,
+                playerUpImage, playerDownImage, playerLeftImage, playerRightImage);
+        int index = localRootPane.getChildren().indexOf(gameGrid);
+        localRootPane.getChildren().set(index, canvasRenderer.getCanvas());
+        canvasRenderer.getCanvas().setOnMouseClicked(this::onBoardClicked);
+    }
+
+    /**
+     * 设置点击棋盘格子时的处理器(用于点击推箱子/点击行走)。
+     */
+    public void setCellClickHandler(CellClickHandler handler) {
+        this.cellClickHandler = handler;
+        gameGrid.setOnMouseClicked(this::onBoardClicked);
+        if (canvasRenderer != null) canvasRenderer.getCanvas().setOnMouseClicked(this::onBoardClicked);
+    }
+
+    /**
+     * 把鼠标点击换算成格子坐标：Canvas后端按像素除以格子大小，GridPane后端读取被点中节点的行列索引。
+     */
+    private void onBoardClicked(MouseEvent event) {
+        if (cellClickHandler == null || event.getButton() != MouseButton.PRIMARY) return;
+        int row, col;
+        if (canvasRenderer != null) {
+            row = (int) (event.getY() / tileSize);
+            col = (int) (event.getX() / tileSize);
+        } else {
+            Node node = event.getPickResult().getIntersectedNode();
+            Integer rowIndex = node == null ? null : GridPane.getRowIndex(node);
+            Integer colIndex = node == null ? null : GridPane.getColumnIndex(node);
+            if (rowIndex == null || colIndex == null) return;
+            row = rowIndex;
+            col = colIndex;
+        }
+        if (row < 0 || row >= gridRows || col < 0 || col >= gridCols) return;
+        cellClickHandler.cellClicked(row, col);
+        requestFocusOnRoot();
+    }
+
+    /**
+     * 为新关卡准备绘制区域。关卡按实际尺寸绘制，超过窗口时缩小格子。
+     * GridPane后端会一次性创建所有格子节点：
+     * 每格一层地面、一层静态图块(墙/目标)和一层动态对象，之后只修改动态对象层。
+     */
+    public void buildGrid(int[][] layout) {
+        int cols = layout.length == 0 ? 0 : layout[0].length;
+        int longestSide = Math.max(1, Math.max(layout.length, cols));
+        tileSize = Math.max(MIN_TILE_SIZE, Math.min(TILE_SIZE, MAX_BOARD_PIXELS / longestSide));
+        if (canvasRenderer != null) {
+            canvasRenderer.build(layout.length, cols, tileSize);
+        } else {
+            gameGrid.getChildren().clear();
+            objectViews = new ImageView[layout.length][];
+            for (int row = 0; row < layout.length; row++) {
+                objectViews[row] = new ImageView[layout[row].length];
+                for (int col = 0; col < layout[row].length; col++) {
+                    gameGrid.add(createTileView(groundImage), col, row);
+
+                    int layoutTile = layout[row][col];
+                    if (layoutTile == 4) {
+                        gameGrid.add(createTileView(goalImage), col, row);
+                    } else if (layoutTile == 1) {
+                        gameGrid.add(createTileView(wallImage), col, row);
+                    }
 
-                int objectTile = map[row][col];
-                if (objectTile == 2) {
-                    ImageView playerView = new ImageView(currentPlayerImage);
-                    playerView.setFitWidth(40);
-                    playerView.setFitHeight(40);
-                    gameGrid.add(playerView, col, row);
-                } else if (objectTile == 3) {
-                    ImageView boxView = new ImageView(layout[row][col] == 4 ? boxOnGoalImage : boxImage);
-                    boxView.setFitWidth(40);
-                    boxView.setFitHeight(40);
-                    gameGrid.add(boxView, col, row);
+                    ImageView objectView = createTileView(null);
+                    objectViews[row][col] = objectView;
+                    gameGrid.add(objectView, col, row);
                 }
             }
         }
+        gridRows = layout.length;
+        gridCols = cols;
+        invalidateAll();
         if (localRootPane.getScene() != null && localRootPane.getScene().getWindow() != null) {
             localRootPane.getScene().getWindow().sizeToScene();
         }
     }
 
+    /**
+     * 记录一个内容发生变化、需要在下次drawMap时重绘的格子。
+     */
+    public void markDirty(int row, int col) {
+        if (fullRedraw) return;
+        if (dirtyCount == dirtyCells.length) {
+            // 脏格子过多时直接整体重绘
+            fullRedraw = true;
+            return;
+        }
+        dirtyCells[dirtyCount++] = row * gridCols + col;
+    }
+
+    /**
+     * 要求下次drawMap重绘所有格子。
+     */
+    public void invalidateAll() {
+        fullRedraw = true;
+        dirtyCount = 0;
+    }
+
+    /**
+     * 根据当前地图刷新画面，只重绘通过markDirty报告过的格子。
+     */
+    public void drawMap(int[][] map, int[][] layout) {
+        if (gridRows != layout.length || (layout.length > 0 && gridCols != layout[0].length)) {
+            buildGrid(layout);
+        }
+        if (fullRedraw) {
+            for (int row = 0; row < map.length; row++) {
+                for (int col = 0; col < map[row].length; col++) {
+                    drawCell(map, layout, row, col);
+                }
+            }
+        } else {
+            for (int i = 0; i < dirtyCount; i++) {
+                drawCell(map, layout, dirtyCells[i] / gridCols, dirtyCells[i] % gridCols);
+            }
+        }
+        fullRedraw = false;
+        dirtyCount = 0;
+    }
+
+    private void drawCell(int[][] map, int[][] layout, int row, int col) {
+        int objectTile = map[row][col];
+        Image objectImage = null;
+        if (objectTile == 2) {
+            objectImage = currentPlayerImage;
+        } else if (objectTile == 3) {
+            objectImage = layout[row][col] == 4 ? boxOnGoalImage : boxImage;
+        }
+
+        if (canvasRenderer != null) {
+            int layoutTile = layout[row][col];
+            Image staticImage = layoutTile == 1 ? wallImage : (layoutTile == 4 ? goalImage : null);
+            canvasRenderer.drawCell(row, col,
+                    staticImage == null ? -1 : canvasRenderer.spriteIndexOf(staticImage),
+                    objectImage == null ? -1 : canvasRenderer.spriteIndexOf(objectImage));
+        } else {
+            objectViews[row][col].setImage(objectImage);
+        }
+    }
+
+    private ImageView createTileView(Image image) {
+        ImageView view = new ImageView(image);
+        view.setFitWidth(tileSize);
+        view.setFitHeight(tileSize);
+        return view;
+    }
+
     public void updatePlayerImage(KeyCode direction) {
         switch (direction) {
             case UP:    currentPlayerImage = playerUpImage;    break;
@@ -155,6 +309,9 @@ public class UIManager {
     public void updateLevelLabel(int level) { levelLabel.setText("关卡: " + level); }
     public void updateMovesLabel(int moves) { movesLabel.setText("步数: " + moves); }
     public void updateMovesLabelText(String text) { movesLabel.setText(text); }
+    public void updateMovesLabelRepeated(int moves, int earlierStep) {
+        movesLabel.setText("步数: " + moves + " (与第 " + earlierStep + " 步局面相同)");
+    }
     public void updateTimeLabel(int seconds) { timeLabel.setText("时间: " + seconds + "s"); }
     public void selectLevelInChoiceBox(int levelIndex) {
         if (levelChoiceBox.getSelectionModel().getSelectedIndex() != levelIndex) {
@@ -162,15 +319,18 @@ public class UIManager {
         }
     }
 
-    public void setControlsForManualPlay(EventHandler<ActionEvent> onUndoAction) {
+    public void setControlsForManualPlay(EventHandler<ActionEvent> onUndoAction, EventHandler<ActionEvent> onRedoAction) {
         solveButton.setDisable(false);
         resetButton.setDisable(false);
         levelChoiceBox.setDisable(false);
         prevStepButton.setVisible(true);
         prevStepButton.setText("上一步");
         prevStepButton.setOnAction(onUndoAction);
-        nextStepButton.setVisible(false);
+        nextStepButton.setVisible(true);
+        nextStepButton.setText("重做");
+        nextStepButton.setOnAction(onRedoAction);
         pauseButton.setVisible(false);
+        hideSolutionSlider();
         enableKeyboardInput();
     }
 
@@ -183,10 +343,44 @@ public class UIManager {
         pauseButton.setVisible(true);
         pauseButton.setDisable(false);
         pauseButton.setText("暂停");
+        hideSolutionSlider();
+        disableKeyboardInput();
+    }
+
+    /**
+     * 后台求解期间：暂停按钮变为"取消求解"，仍可重置或切换关卡(二者都会取消求解)。
+     */
+    public void setControlsForSearching() {
+        solveButton.setDisable(true);
+        resetButton.setDisable(false);
+        levelChoiceBox.setDisable(false);
+        prevStepButton.setVisible(false);
+        nextStepButton.setVisible(false);
+        pauseButton.setVisible(true);
+        pauseButton.setDisable(false);
+        pauseButton.setText("取消求解");
+        hideSolutionSlider();
         disableKeyboardInput();
     }
 
-    public void setControlsForPausedSolution(EventHandler<ActionEvent> onPrevAction, EventHandler<ActionEvent> onNextAction) {
+    public void updateSearchProgress(int expandedNodes, int depthBound) {
+        movesLabel.setText("求解中: 已扩展 " + expandedNodes + " 个节点, 推动下界 " + depthBound);
+    }
+
+    /**
+     * 暂停播放答案时：可逐步前后翻看，也可拖动进度条跳到答案的任意一步。
+     * @param solutionLength 答案总步数，即进度条的最大值。
+     * @param currentStep 当前所在的步数。
+     * @param onSeek 拖动进度条时以目标步数调用。
+     */
+    public void setControlsForPausedSolution(EventHandler<ActionEvent> onPrevAction, EventHandler<ActionEvent> onNextAction,
+                                             int solutionLength, int currentStep, IntConsumer onSeek) {
+        solutionSeekHandler = onSeek;
+        updatingSolutionSlider = true;
+        solutionSlider.setMax(solutionLength);
+        solutionSlider.setValue(currentStep);
+        updatingSolutionSlider = false;
+        solutionSlider.setVisible(true);
         resetButton.setDisable(false);
         pauseButton.setText("继续");
         prevStepButton.setVisible(true);
@@ -197,7 +391,24 @@ public class UIManager {
         nextStepButton.setOnAction(onNextAction);
     }
 
-    public void hidePauseButton() { pauseButton.setVisible(false); }
+    /**
+     * 答案步数改变(逐步翻看或跳转)后同步进度条位置。
+     */
+    public void updateSolutionSlider(int step) {
+        updatingSolutionSlider = true;
+        solutionSlider.setValue(step);
+        updatingSolutionSlider = false;
+    }
+
+    private void hideSolutionSlider() {
+        solutionSlider.setVisible(false);
+        solutionSeekHandler = null;
+    }
+
+    public void hidePauseButton() {
+        pauseButton.setVisible(false);
+        hideSolutionSlider();
+    }
 
     public void disableKeyboardInput() {
         if (externalRootPane != null) {
@@ -0,0 +1,72 @@
+package com.ai.sokoban;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist哈希工具。
+ * 【职责】: 为关卡的每个格子分别生成"箱子在此"和"玩家在此"两个64位随机键，
+ * 局面的哈希值是所有对象所在格子的键的异或。移动一个对象只需两次异或即可增量更新。
+ */
+public final class ZobristHasher {
+
+    /** 固定种子，保证同尺寸的关卡在每次运行时得到相同的哈希值。 */
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    private final long[] boxKeys;
+    private final long[] playerKeys;
+
+    public ZobristHasher(int cellCount) {
+        this(cellCount, DEFAULT_SEED);
+    }
+
+    public ZobristHasher(int cellCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.boxKeys = new long[cellCount];
+        this.playerKeys = new long[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            boxKeys[i] = random.nextLong();
+            playerKeys[i] = random.nextLong();
+        }
+    }
+
+    public long boxKey(int cell) {
+        return boxKeys[cell];
+    }
+
+    public long playerKey(int cell) {
+        return cell < 0 ? 0L : playerKeys[cell];
+    }
+
+    /**
+     * 只计算箱子部分的哈希，供需要自行组合玩家键(如规范化玩家位置)的搜索使用。
+     */
+    public long hashBoxes(GameState state) {
+        long hash = 0L;
+        for (int box = state.nextBox(0); box >= 0; box = state.nextBox(box + 1)) {
+            hash ^= boxKeys[box];
+        }
+        return hash;
+    }
+
+    public long hash(GameState state) {
+        return hashBoxes(state) ^ playerKey(state.getPlayerCell());
+    }
+
+    /**
+     * 计算动态对象地图(2玩家, 3箱子)的哈希，格子编号为 row * 列数 + col。
+     */
+    public long hash(int[][] map) {
+        int cols = map.length == 0 ? 0 : map[0].length;
+        long hash = 0L;
+        for (int r = 0; r < map.length; r++) {
+            for (int c = 0; c < map[r].length; c++) {
+                if (map[r][c] == 3) {
+                    hash ^= boxKeys[r * cols + c];
+                } else if (map[r][c] == 2) {
+                    hash ^= playerKeys[r * cols + c];
+                }
+            }
+        }
+        return hash;
+    }
+}